@@ -0,0 +1,110 @@
+/*
+ * File: RegressionCheck.java
+ * --------------------------
+ * This file contains the RegressionCheck class, which checks the solver against cases
+ * that once gave wrong answers.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Unlike the benchmarks, this class sits in the default package next to the solver, so
+ * it calls it directly. Each check prints a line and the run exits with status 1 if any
+ * of them failed.
+ *
+ * Usage after building the module: java -cp target/classes RegressionCheck
+ */
+
+import java.util.*;
+
+// definition of the RegressionCheck class.
+public class RegressionCheck {
+
+    /* number of checks that failed so far */
+    private static int failures;
+
+    public static void main(String[] args) {
+        primeGeneratorsAgreeOnWideMinterms();
+        wideCubesAreNotExpanded();
+
+        System.out.println(failures == 0 ? "all checks passed" : failures + " check(s) failed");
+        if (failures != 0)
+            System.exit(1);
+    }
+
+    /* every prime generator gives the same covers for minterms of up to 64 variables, the sign bit included */
+    private static void primeGeneratorsAgreeOnWideMinterms() {
+        ArrayList<long[]> functions = new ArrayList<>();
+        functions.add(new long[] {1, Long.MIN_VALUE});
+        functions.add(new long[] {0, -1L, Long.MIN_VALUE, Long.MAX_VALUE});
+
+        // minterms differing in a few positions spread over all 64, so some of them combine
+        Random r = new Random(64);
+        for (int t = 0; t < 20; t++) {
+            int[] positions = {63, 62, r.nextInt(62), r.nextInt(62), r.nextInt(62)};
+            long base = r.nextLong() & ~(1L << 63) & ~(1L << 62);
+            TreeSet<Long> on = new TreeSet<>();
+            for (int s = 0; s < 32; s++) {
+                if (r.nextBoolean())
+                    continue;
+                long m = base;
+                for (int k = 0; k < positions.length; k++) {
+                    if ((s & (1 << k)) != 0)
+                        m ^= 1L << positions[k];
+                }
+                on.add(m);
+            }
+            if (on.isEmpty())
+                on.add(base);
+            functions.add(on.stream().mapToLong(Long::longValue).toArray());
+        }
+
+        for (int i = 0; i < functions.size(); i++) {
+            List<List<Term>> expected = null;
+            for (QuineMcCluskeyMethod.PrimeGenerator g : QuineMcCluskeyMethod.PrimeGenerator.values()) {
+                QuineMcCluskeyMethod s = new QuineMcCluskeyMethod(functions.get(i), 64);
+                s.setRetainSteps(false);
+                s.setPrimeGenerator(g);
+                s.solve();
+                List<List<Term>> covers = sorted(s.getResult().getCovers());
+                if (expected == null)
+                    expected = covers;
+                else
+                    check("64-variable function " + i + " with " + g, covers.equals(expected));
+            }
+        }
+    }
+
+    /* cubes far too large to list their minterms are solved on cubes, the cover coming back as the primes it is made of */
+    private static void wideCubesAreNotExpanded() {
+        // x1' x2' with every other position free, and x1 x2 x64
+        long high = 3L << 62;
+        Term[] cover = {new Term(0, ~high, 64), new Term(high | 1, ~high & ~1L, 64)};
+        for (QuineMcCluskeyMethod.PrimeGenerator g : new QuineMcCluskeyMethod.PrimeGenerator[] {
+                QuineMcCluskeyMethod.PrimeGenerator.BDD, QuineMcCluskeyMethod.PrimeGenerator.CONSENSUS}) {
+            QuineMcCluskeyMethod s = new QuineMcCluskeyMethod(cover, 64);
+            s.setRetainSteps(false);
+            s.setPrimeGenerator(g);
+            s.solve();
+            check("64-variable cubes with " + g, sorted(s.getResult().getCovers()).equals(sorted(List.of(List.of(cover)))));
+        }
+    }
+
+    /* @return covers with their terms and the covers themselves in a fixed order */
+    private static List<List<Term>> sorted(List<List<Term>> covers) {
+        ArrayList<List<Term>> result = new ArrayList<>();
+        for (int i = 0; i < covers.size(); i++) {
+            ArrayList<Term> c = new ArrayList<>(covers.get(i));
+            c.sort(Comparator.comparing(Term::getString));
+            result.add(c);
+        }
+        result.sort(Comparator.comparing(Object::toString));
+        return result;
+    }
+
+    /* prints the outcome of one check, counting it when it failed */
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "ok     " : "FAILED ") + name);
+        if (!passed)
+            failures++;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * File: ChartBenchmark.java
+ * --------------------------
+ * This file contains the ChartBenchmark class, measuring the second stage of solving.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * The tabulation runs in the setup, so only the chart reduction and the choice of cover
+ * in solveSecond are measured, for seeded random functions, with either cover method.
+ * Petrick's method takes minutes on a dense function of 8 variables, so it is only
+ * measured up to 6 variables.
+ *
+ * A call mostly takes microseconds, far too little for a setup before every call to be
+ * timed apart from it, so calls are timed in single shot batches: a tabulated solver for
+ * every call of the batch is built before the iteration, each call takes the next one,
+ * and the time of the batch is divided by its size. Changing the batch size with -bs
+ * also needs BATCH changed to match.
+ */
+
+package qmmp.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+
+// definition of the ChartBenchmark class.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 15, batchSize = ChartBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = ChartBenchmark.BATCH)
+@Fork(1)
+public class ChartBenchmark {
+
+    /* calls timed together in a batch, the score being divided by it */
+    static final int BATCH = 100;
+
+    /* random function, with a tabulated solver for every call of an iteration */
+    @State(Scope.Thread)
+    public abstract static class Charts {
+
+        @Param({"0.25", "0.5", "0.75"})
+        public double density;
+
+        @Param({"42"})
+        public long seed;
+
+        /* minterms of the function, generated once per trial */
+        private long[] minterms;
+
+        /* tabulated solvers built before each iteration, and the next one to take */
+        private Object[] solvers;
+        private int next;
+
+        /* @return number of variables of the function */
+        abstract int variables();
+
+        /* @return name of the cover method, PETRICK or BRANCH_AND_BOUND */
+        abstract String method();
+
+        @Setup(Level.Trial)
+        public void generate() {
+            minterms = Engine.randomFunction(variables(), density, seed);
+        }
+
+        @Setup(Level.Iteration)
+        public void tabulate(IterationParams iteration) throws Throwable {
+            solvers = new Object[iteration.getBatchSize()];
+            for (int i = 0; i < solvers.length; i++) {
+                solvers[i] = Engine.create(minterms, variables());
+                Engine.setCoverMethod(solvers[i], method());
+                Engine.tabulate(solvers[i]);
+            }
+            next = 0;
+        }
+
+        /* @return tabulated solver whose chart is not reduced yet */
+        Object take() {
+            return solvers[next++];
+        }
+    }
+
+    /* chart covered by the branch and bound search */
+    public static class BranchAndBoundChart extends Charts {
+
+        @Param({"4", "6", "8"})
+        public int variables;
+
+        @Override
+        int variables() {
+            return variables;
+        }
+
+        @Override
+        String method() {
+            return "BRANCH_AND_BOUND";
+        }
+    }
+
+    /* chart covered by Petrick's method, the engine default */
+    public static class PetrickChart extends Charts {
+
+        @Param({"4", "6"})
+        public int variables;
+
+        @Override
+        int variables() {
+            return variables;
+        }
+
+        @Override
+        String method() {
+            return "PETRICK";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object branchAndBound(BranchAndBoundChart chart) throws Throwable {
+        Object solver = chart.take();
+        Engine.solveSecond(solver);
+        return solver;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object petrick(PetrickChart chart) throws Throwable {
+        Object solver = chart.take();
+        Engine.solveSecond(solver);
+        return solver;
+    }
+}
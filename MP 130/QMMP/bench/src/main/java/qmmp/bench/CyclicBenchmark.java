@@ -0,0 +1,69 @@
+/*
+ * File: CyclicBenchmark.java
+ * --------------------------
+ * This file contains the CyclicBenchmark class, measuring the second stage of solving on
+ * a function with a cyclic chart.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * The function true everywhere but at all zeros and all ones has no essential prime
+ * implicant and no dominated row or column, so the whole chart is left to the cover
+ * method. Its number of minimum covers grows factorially with the variables, which makes
+ * it the worst case for Petrick's method.
+ *
+ * A call mostly takes microseconds, far too little for a setup before every call to be
+ * timed apart from it, so calls are timed in single shot batches: a tabulated solver for
+ * every call of the batch is built before the iteration, each call takes the next one,
+ * and the time of the batch is divided by its size. Changing the batch size with -bs
+ * also needs BATCH changed to match.
+ */
+
+package qmmp.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+
+// definition of the CyclicBenchmark class.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 15, batchSize = CyclicBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = CyclicBenchmark.BATCH)
+@Fork(1)
+public class CyclicBenchmark {
+
+    /* calls timed together in a batch, the score being divided by it */
+    static final int BATCH = 100;
+
+    @Param({"3", "4", "5"})
+    public int variables;
+
+    @Param({"PETRICK", "BRANCH_AND_BOUND"})
+    public String method;
+
+    /* tabulated solvers built before each iteration, and the next one to take */
+    private Object[] solvers;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void tabulate(IterationParams iteration) throws Throwable {
+        solvers = new Object[iteration.getBatchSize()];
+        for (int i = 0; i < solvers.length; i++) {
+            solvers[i] = Engine.create(Engine.cyclicFunction(variables), variables);
+            Engine.setCoverMethod(solvers[i], method);
+            Engine.tabulate(solvers[i]);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object solveSecond() throws Throwable {
+        Object solver = solvers[next++];
+        Engine.solveSecond(solver);
+        return solver;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * File: Engine.java
+ * --------------------------
+ * This file contains the Engine class, which gives the benchmarks access to the solver.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * The solver classes live in the default package, which a named package cannot import,
+ * so they are looked up by name once and called through method handles. Package-private
+ * methods are opened with setAccessible, which the unnamed module allows.
+ */
+
+package qmmp.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Random;
+
+// definition of the Engine class.
+final class Engine {
+
+    /* constructor QuineMcCluskeyMethod(long[], int) */
+    private static final MethodHandle NEW;
+
+    /* public stages of solving */
+    private static final MethodHandle TABULATE;
+    private static final MethodHandle SOLVE_SECOND;
+    private static final MethodHandle SOLVE;
+
+    /* package-private product of sums expansion of Petrick's method */
+    private static final MethodHandle MULTIPLY;
+
+    /* QuineMcCluskeyMethod.setCoverMethod and its enum */
+    private static final MethodHandle SET_COVER_METHOD;
+    private static final Class<?> COVER_METHOD;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> solver = Class.forName("QuineMcCluskeyMethod");
+            COVER_METHOD = Class.forName("QuineMcCluskeyMethod$CoverMethod");
+
+            Constructor<?> c = solver.getConstructor(long[].class, int.class);
+            NEW = lookup.unreflectConstructor(c);
+            TABULATE = lookup.unreflect(solver.getMethod("tabulate"));
+            SOLVE_SECOND = lookup.unreflect(solver.getMethod("solveSecond"));
+            SOLVE = lookup.unreflect(solver.getMethod("solve"));
+            SET_COVER_METHOD = lookup.unreflect(solver.getMethod("setCoverMethod", COVER_METHOD));
+
+            Method m = solver.getDeclaredMethod("multiply", ArrayList.class, int.class);
+            m.setAccessible(true);
+            MULTIPLY = lookup.unreflect(m);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Engine() {
+    }
+
+    /* @return new solver for the given distinct minterms over variableCount variables */
+    static Object create(long[] minterms, int variableCount) throws Throwable {
+        return NEW.invoke(minterms, variableCount);
+    }
+
+    /* runs the tabulation of a solver */
+    static void tabulate(Object solver) throws Throwable {
+        TABULATE.invoke(solver);
+    }
+
+    /* runs the chart reduction and cover selection of a tabulated solver */
+    static void solveSecond(Object solver) throws Throwable {
+        SOLVE_SECOND.invoke(solver);
+    }
+
+    /* runs both stages of a solver */
+    static void solve(Object solver) throws Throwable {
+        SOLVE.invoke(solver);
+    }
+
+    /* sets the cover method of a solver by the name of its constant, PETRICK or BRANCH_AND_BOUND */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static void setCoverMethod(Object solver, String method) throws Throwable {
+        SET_COVER_METHOD.invoke(solver, Enum.valueOf((Class) COVER_METHOD, method));
+    }
+
+    /* @return products of the sums, each sum a bit set over words longs */
+    @SuppressWarnings("unchecked")
+    static ArrayList<long[]> multiply(Object solver, ArrayList<long[]> sums, int words) throws Throwable {
+        return (ArrayList<long[]>) MULTIPLY.invoke(solver, sums, words);
+    }
+
+    /* @return minterms of a seeded random function, each minterm present with the given density, at least one */
+    static long[] randomFunction(int variables, double density, long seed) {
+        Random r = new Random(seed);
+        long size = 1L << variables;
+        long[] t = new long[(int) size];
+        int k = 0;
+        for (long m = 0; m < size; m++) {
+            if (r.nextDouble() < density)
+                t[k++] = m;
+        }
+        if (k == 0)
+            t[k++] = r.nextInt((int) size);
+        return java.util.Arrays.copyOf(t, k);
+    }
+
+    /* @return minterms of the function true everywhere but at all zeros and all ones, whose chart is cyclic */
+    static long[] cyclicFunction(int variables) {
+        long[] t = new long[(1 << variables) - 2];
+        for (int i = 0; i < t.length; i++)
+            t[i] = i + 1;
+        return t;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * File: PetrickBenchmark.java
+ * --------------------------
+ * This file contains the PetrickBenchmark class, measuring the product of sums expansion
+ * of Petrick's method on its own.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * The sums form a ring: sum i holds the rows i and i + 1, as in the chart of a cyclic
+ * function where every minterm is covered by exactly two neighbouring primes. The
+ * number of minimal products grows with the ring, which makes it a worst case for the
+ * expansion and absorption.
+ */
+
+package qmmp.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// definition of the PetrickBenchmark class.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PetrickBenchmark {
+
+    @Param({"8", "16", "24", "32"})
+    public int ring;
+
+    /* sums of the ring and the number of longs in each */
+    private ArrayList<long[]> sums;
+    private int words;
+
+    /* any solver, multiply only uses it as its receiver */
+    private Object solver;
+
+    @Setup(Level.Trial)
+    public void generate() throws Throwable {
+        words = (ring + 63) >>> 6;
+        sums = new ArrayList<>();
+        for (int i = 0; i < ring; i++) {
+            long[] sum = new long[words];
+            int j = (i + 1) % ring;
+            sum[i >>> 6] |= 1L << i;
+            sum[j >>> 6] |= 1L << j;
+            sums.add(sum);
+        }
+        solver = Engine.create(new long[] {0}, 1);
+    }
+
+    @Benchmark
+    public ArrayList<long[]> multiplyRing() throws Throwable {
+        return Engine.multiply(solver, sums, words);
+    }
+}
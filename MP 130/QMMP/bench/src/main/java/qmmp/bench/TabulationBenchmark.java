@@ -0,0 +1,124 @@
+/*
+ * File: TabulationBenchmark.java
+ * --------------------------
+ * This file contains the TabulationBenchmark class, measuring the first stage of solving.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Each call tabulates a fresh solver for a seeded random function, so the numbers
+ * depend only on the number of variables and the density of minterms.
+ *
+ * Up to 8 variables a call takes microseconds, far too little for a setup before every
+ * call to be timed apart from it. Those functions are timed in single shot batches: a
+ * fresh solver for every call of the batch is built before the iteration, each call
+ * takes the next one, and the time of the batch is divided by its size. From 12
+ * variables on a call takes milliseconds, so a solver is built before each call instead.
+ * Changing the batch size with -bs also needs BATCH changed to match.
+ */
+
+package qmmp.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+
+// definition of the TabulationBenchmark class.
+@Fork(1)
+public class TabulationBenchmark {
+
+    /* calls timed together in a batch of small functions, the score being divided by it */
+    static final int BATCH = 1000;
+
+    /* small function, with a fresh solver for every call of an iteration */
+    @State(Scope.Thread)
+    public static class Small {
+
+        @Param({"4", "8"})
+        public int variables;
+
+        @Param({"0.25", "0.5", "0.75"})
+        public double density;
+
+        @Param({"42"})
+        public long seed;
+
+        /* minterms of the function, generated once per trial */
+        private long[] minterms;
+
+        /* solvers built before each iteration, and the next one to take */
+        private Object[] solvers;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            minterms = Engine.randomFunction(variables, density, seed);
+        }
+
+        @Setup(Level.Iteration)
+        public void create(IterationParams iteration) throws Throwable {
+            solvers = new Object[iteration.getBatchSize()];
+            for (int i = 0; i < solvers.length; i++)
+                solvers[i] = Engine.create(minterms, variables);
+            next = 0;
+        }
+
+        /* @return solver not tabulated yet */
+        Object take() {
+            return solvers[next++];
+        }
+    }
+
+    /* large function, with a solver built before each call */
+    @State(Scope.Thread)
+    public static class Large {
+
+        @Param({"12", "16"})
+        public int variables;
+
+        @Param({"0.25", "0.5", "0.75"})
+        public double density;
+
+        @Param({"42"})
+        public long seed;
+
+        /* minterms of the function, generated once per trial */
+        private long[] minterms;
+
+        /* solver built fresh before each invocation */
+        private Object solver;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            minterms = Engine.randomFunction(variables, density, seed);
+        }
+
+        @Setup(Level.Invocation)
+        public void create() throws Throwable {
+            solver = Engine.create(minterms, variables);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = BATCH)
+    @Measurement(iterations = 10, batchSize = BATCH)
+    @OperationsPerInvocation(BATCH)
+    public Object tabulate(Small function) throws Throwable {
+        Object solver = function.take();
+        Engine.tabulate(solver);
+        return solver;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Object tabulateLarge(Large function) throws Throwable {
+        Engine.tabulate(function.solver);
+        return function.solver;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * File: BatchRunner.java
+ * --------------------------
+ * This file contains the BatchRunner class, a headless command line entry point
+ * that minimizes many functions in one run.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Reads one function per line from a file or from standard input, solves it with the
+ * Quine-McCluskey method and writes one line of output per input line as it goes, so
+ * the batch is never held in memory as a whole. It does not load any AWT or Swing class.
+ *
+ * Usage: java -cp QMMP.jar BatchRunner [--parallel] [--branch-and-bound] [--heuristic] [--consensus | --bdd] [--npn] [--table file] [--cache size] [--limit count] [file | -]
+ *
+ * Each input line holds a space or comma delimited minterm list, optionally followed
+ * by ';' and the variable names, e.g. "0, 1, 5, 7 ; x, y, z". A range such as 0-511
+ * stands for every minterm from its start to its end. Blank lines and lines
+ * starting with '#' are skipped. Each output line holds the solutions separated by
+ * " ; ", or "error: " followed by the reason when the line cannot be solved.
+ * A line with several minterm lists separated by '|', e.g. "1 3 5 7 | 3 7 ; a b c", is
+ * minimized as one block of outputs sharing products, the output covers being
+ * written separated by " | " in the same order.
+ * Repeated functions are answered from a result cache, whose hit and miss counts are
+ * written to standard error at the end. With --npn, functions of at most 6 variables
+ * are looked up by their class under input permutation and negation and output negation
+ * instead, so functions differing only that way are solved once. With --table, functions
+ * of at most 4 variables are answered from a table generated by CoverTable. With
+ * --consensus or --bdd, the prime implicants are generated by iterated consensus or
+ * on a binary decision diagram instead of by tabulation. With --limit, at most that
+ * many solutions are found and written for each line.
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+// definition of the BatchRunner class.
+public class BatchRunner {
+
+    /* combine adjacent groups concurrently */
+    private boolean parallel;
+
+    /* use the branch and bound search for the remaining chart */
+    private boolean branchAndBound;
+
+    /* use the heuristic solver instead of full tabulation */
+    private boolean heuristic;
+
+    /* method generating the prime implicants */
+    private QuineMcCluskeyMethod.PrimeGenerator primeGenerator = QuineMcCluskeyMethod.PrimeGenerator.TABULATION;
+
+    /* most solutions found for each line */
+    private int limit = Integer.MAX_VALUE;
+
+    /* number of results kept when no --cache option is given */
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /* results of the functions solved so far */
+    private ResultCache cache = new ResultCache(DEFAULT_CACHE_SIZE);
+
+    /* results of the equivalence classes solved so far, null unless --npn is given */
+    private NpnCache npnCache;
+
+    /* minimum covers of every small function, null unless --table is given */
+    private CoverTable table;
+
+    public static void main(String[] args) throws IOException {
+        // make sure nothing can bring up a window
+        System.setProperty("java.awt.headless", "true");
+
+        BatchRunner runner = new BatchRunner();
+        String file = "-";
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--parallel"))
+                runner.parallel = true;
+            else if (args[i].equals("--branch-and-bound"))
+                runner.branchAndBound = true;
+            else if (args[i].equals("--heuristic"))
+                runner.heuristic = true;
+            else if (args[i].equals("--consensus"))
+                runner.primeGenerator = QuineMcCluskeyMethod.PrimeGenerator.CONSENSUS;
+            else if (args[i].equals("--bdd"))
+                runner.primeGenerator = QuineMcCluskeyMethod.PrimeGenerator.BDD;
+            else if (args[i].equals("--npn"))
+                runner.npnCache = new NpnCache(DEFAULT_CACHE_SIZE);
+            else if (args[i].equals("--table") && i + 1 < args.length)
+                runner.table = CoverTable.load(Paths.get(args[++i]));
+            else if (args[i].equals("--cache") && i + 1 < args.length && args[i + 1].matches("[1-9]\\d{0,8}"))
+                runner.cache = new ResultCache(Integer.parseInt(args[++i]));
+            else if (args[i].equals("--limit") && i + 1 < args.length && args[i + 1].matches("[1-9]\\d{0,8}"))
+                runner.limit = Integer.parseInt(args[++i]);
+            else if (args[i].startsWith("--")) {
+                System.err.println("Unknown option " + args[i]);
+                System.err.println("Usage: BatchRunner [--parallel] [--branch-and-bound] [--heuristic] [--consensus | --bdd] [--npn] [--table file] [--cache size] [--limit count] [file | -]");
+                System.exit(2);
+            } else
+                file = args[i];
+        }
+
+        Reader in = file.equals("-")
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+        Writer out = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        runner.run(new BufferedReader(in), new BufferedWriter(out));
+        System.err.println("cache: " + runner.cache.getHits() + " hits, " + runner.cache.getMisses() + " misses");
+        if (runner.npnCache != null)
+            System.err.println("npn cache: " + runner.npnCache.getHits() + " hits, " + runner.npnCache.getMisses() + " misses");
+    }
+
+    /* solves every line of the input, writing one line of output for each */
+    void run(BufferedReader in, BufferedWriter out) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank() || line.trim().startsWith("#"))
+                continue;
+            out.write(solveLine(line));
+            out.newLine();
+        }
+        out.flush();
+    }
+
+    /* @return the solutions of one input line separated by " ; ", or the reason it could not be solved */
+    String solveLine(String line) {
+        // split off the optional variable names
+        int split = line.indexOf(';');
+        String minterms = split < 0 ? line : line.substring(0, split);
+        String variables = split < 0 ? "" : line.substring(split + 1);
+
+        if (minterms.indexOf('|') >= 0)
+            return solveOutputs(minterms, variables);
+
+        try {
+            // steps are never displayed here, so no column is kept past the next one
+            QuineMcCluskeyMethod s = new QuineMcCluskeyMethod(minterms);
+            s.setRetainSteps(false);
+            s.setParallel(parallel);
+            if (branchAndBound)
+                s.setCoverMethod(QuineMcCluskeyMethod.CoverMethod.BRANCH_AND_BOUND);
+            s.setPrimeGenerator(primeGenerator);
+            if (limit != Integer.MAX_VALUE)
+                s.setSolutionLimit(limit);
+            if (heuristic)
+                s.solveHeuristic(cache);
+            else if (table != null && s.getVariableCount() <= CoverTable.MAX_VARIABLES)
+                s.solve(table);
+            else if (npnCache != null && s.getVariableCount() <= NpnCache.MAX_VARIABLES)
+                s.solve(npnCache);
+            else
+                s.solve(cache);
+
+            String[] names = convertVariables(variables, s.getVariableCount());
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < s.getSolutionCount(); i++) {
+                if (i > 0)
+                    result.append(" ; ");
+                result.append(s.printSolution(i, names));
+            }
+            return result.toString();
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    /* @return covers of the '|' separated outputs minimized together, separated by " | ", or the reason they could not be solved */
+    String solveOutputs(String minterms, String variables) {
+        try {
+            String[] parts = minterms.split("\\|", -1);
+            long[][] outputs = new long[parts.length][];
+            for (int o = 0; o < parts.length; o++)
+                outputs[o] = MintermParser.parse(parts[o]);
+
+            MultiOutputMethod s = new MultiOutputMethod(outputs);
+            s.solve();
+
+            String[] names = convertVariables(variables, s.getVariableCount());
+            StringBuilder result = new StringBuilder();
+            for (int o = 0; o < s.getOutputCount(); o++) {
+                if (o > 0)
+                    result.append(" | ");
+                result.append(s.printOutput(o, names));
+            }
+            return result.toString();
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    /* @return variable names for count positions, taking the entered ones first and the defaults for the rest */
+    static String[] convertVariables(String s, int count) {
+        String[] variables = new String[count];
+        for (int i = 0; i < count; i++)
+            variables[i] = QuineMcCluskeyMethod.VARIABLES[i];
+
+        s = s.replace(",", " ").trim();
+        if (s.isEmpty())
+            return variables;
+
+        // names longer than one character are put in parentheses to keep products readable
+        String[] a = s.split(" +");
+        for (int i = 0; i < a.length && i < count; i++) {
+            if (a[i].length() > 1)
+                variables[i] = "(" + a[i] + ")";
+            else
+                variables[i] = a[i];
+        }
+        return variables;
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * File: Bdd.java
+ * --------------------------
+ * This file contains the Bdd class, a reduced ordered binary decision diagram package
+ * used to compute the prime implicants of a function without tabulating its minterms.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Nodes are held in parallel int arrays and referred to by index, 0 and 1 being the
+ * constant functions. Level 0 is the most significant position of a term, so a node's
+ * low and high children are its cofactors on that position being 0 and 1. A unique
+ * table makes every function a single node, and a direct-mapped cache remembers the
+ * results of recent operations.
+ *
+ * Nodes no longer reachable from a protected node are reclaimed by marking from the
+ * protected ones. Collection only happens on entry to an operation, never inside one,
+ * so the nodes held by a running operation cannot be lost.
+ *
+ * The prime implicants follow the recursion on the top position x of f:
+ * P(f) = P(f0 f1) + x' (P(f0) - P(f0 f1)) + x (P(f1) - P(f0 f1)),
+ * computed once per node, so shared subfunctions are only solved once.
+ */
+
+import java.util.*;
+
+// definition of the Bdd class.
+class Bdd {
+
+    /* constant functions */
+    static final int FALSE = 0;
+    static final int TRUE = 1;
+
+    /* operation codes of the cache */
+    private static final int AND = 0;
+    private static final int OR = 1;
+    private static final int NOT = 2;
+
+    /* number of positions, the level of both constants */
+    private final int length;
+
+    /* level, children, unique table chain or free list link, and protection count of each node */
+    private int[] level;
+    private int[] low;
+    private int[] high;
+    private int[] next;
+    private int[] refs;
+
+    /* heads of the unique table chains */
+    private int[] buckets;
+
+    /* first free node, -1 when every node is in use, and the number of nodes in use */
+    private int free = -1;
+    private int used;
+
+    /* nodes in use above which the next operation collects first */
+    private int collectAt;
+
+    /* direct-mapped operation cache */
+    private int[] cacheOp;
+    private int[] cacheA;
+    private int[] cacheB;
+    private int[] cacheResult;
+
+    /* number of collections run so far */
+    private int collections;
+
+    /* constructor for functions of the given number of positions */
+    Bdd(int length) {
+        this.length = length;
+        int capacity = 1 << 12;
+        level = new int[capacity];
+        low = new int[capacity];
+        high = new int[capacity];
+        next = new int[capacity];
+        refs = new int[capacity];
+        buckets = new int[capacity];
+        Arrays.fill(buckets, -1);
+        cacheOp = new int[capacity];
+        cacheA = new int[capacity];
+        cacheB = new int[capacity];
+        cacheResult = new int[capacity];
+        Arrays.fill(cacheOp, -1);
+
+        // the constants sit below every position and are never reclaimed
+        for (int i = 0; i < 2; i++) {
+            level[i] = length;
+            low[i] = i;
+            high[i] = i;
+            refs[i] = 1;
+        }
+        used = 2;
+        for (int i = capacity - 1; i >= 2; i--) {
+            level[i] = -1;
+            next[i] = free;
+            free = i;
+        }
+        collectAt = capacity * 3 / 4;
+    }
+
+    /* @return node of the function with the given distinct minterms, in any order */
+    int fromMinterms(long[] minterms) {
+        collect(FALSE, FALSE);
+        return build(minterms.clone(), 0, minterms.length, 0);
+    }
+
+    /* @return node of the function true on minterms[from..to), which agree on every position above the level, reordering them */
+    private int build(long[] minterms, int from, int to, int l) {
+        if (from == to)
+            return FALSE;
+        if (l == length)
+            return TRUE;
+
+        // move the minterms with a 0 at this position before those with a 1, the order of the input plays no part
+        long bit = bitOf(l);
+        int split = from;
+        for (int i = from; i < to; i++) {
+            if ((minterms[i] & bit) == 0) {
+                long t = minterms[i];
+                minterms[i] = minterms[split];
+                minterms[split++] = t;
+            }
+        }
+        return mk(l, build(minterms, from, split, l + 1), build(minterms, split, to, l + 1));
+    }
+
+    /* @return node of the function true on the minterms of any of the cubes */
+    int fromCover(List<Term> cover) {
+        int f = FALSE;
+        for (int i = 0; i < cover.size(); i++) {
+            // the cube is built before the disjunction can collect, so the partial result is kept alive meanwhile
+            protect(f);
+            int c = cube(cover.get(i));
+            release(f);
+            f = or(f, c);
+        }
+        return f;
+    }
+
+    /* @return node of the function true exactly on the minterms of a cube */
+    int cube(Term term) {
+        collect(FALSE, FALSE);
+        int f = TRUE;
+        for (int l = length - 1; l >= 0; l--) {
+            long bit = bitOf(l);
+            if ((term.getMask() & bit) != 0)
+                continue;
+            f = (term.getValue() & bit) != 0 ? mk(l, FALSE, f) : mk(l, f, FALSE);
+        }
+        return f;
+    }
+
+    /* @return node of the conjunction of two functions */
+    int and(int a, int b) {
+        collect(a, b);
+        return apply(AND, a, b);
+    }
+
+    /* @return node of the disjunction of two functions */
+    int or(int a, int b) {
+        collect(a, b);
+        return apply(OR, a, b);
+    }
+
+    /* @return node of the complement of a function */
+    int not(int a) {
+        collect(a, FALSE);
+        return negate(a);
+    }
+
+    /* @return node of a binary operation on two functions, recursing on the higher top level */
+    private int apply(int op, int a, int b) {
+        if (op == AND) {
+            if (a == FALSE || b == FALSE)
+                return FALSE;
+            if (a == TRUE || a == b)
+                return b;
+            if (b == TRUE)
+                return a;
+        } else {
+            if (a == TRUE || b == TRUE)
+                return TRUE;
+            if (a == FALSE || a == b)
+                return b;
+            if (b == FALSE)
+                return a;
+        }
+
+        // both operations are commutative, order the operands so both orders share an entry
+        if (a > b) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        int slot = cacheSlot(op, a, b);
+        if (cacheOp[slot] == op && cacheA[slot] == a && cacheB[slot] == b)
+            return cacheResult[slot];
+
+        int l = Math.min(level[a], level[b]);
+        int a0 = level[a] == l ? low[a] : a;
+        int a1 = level[a] == l ? high[a] : a;
+        int b0 = level[b] == l ? low[b] : b;
+        int b1 = level[b] == l ? high[b] : b;
+        int r = mk(l, apply(op, a0, b0), apply(op, a1, b1));
+
+        // growing the tables while recursing moves the cache
+        slot = cacheSlot(op, a, b);
+        cacheOp[slot] = op;
+        cacheA[slot] = a;
+        cacheB[slot] = b;
+        cacheResult[slot] = r;
+        return r;
+    }
+
+    /* @return node of the complement of a function */
+    private int negate(int a) {
+        if (a <= TRUE)
+            return 1 - a;
+        int slot = cacheSlot(NOT, a, 0);
+        if (cacheOp[slot] == NOT && cacheA[slot] == a)
+            return cacheResult[slot];
+
+        int r = mk(level[a], negate(low[a]), negate(high[a]));
+        slot = cacheSlot(NOT, a, 0);
+        cacheOp[slot] = NOT;
+        cacheA[slot] = a;
+        cacheB[slot] = 0;
+        cacheResult[slot] = r;
+        return r;
+    }
+
+    /* @return the node with the given level and children, made once and shared after that */
+    private int mk(int l, int lo, int hi) {
+        if (lo == hi)
+            return lo;
+
+        int h = hash(l, lo, hi) & (buckets.length - 1);
+        for (int n = buckets[h]; n != -1; n = next[n]) {
+            if (level[n] == l && low[n] == lo && high[n] == hi)
+                return n;
+        }
+
+        if (free == -1) {
+            grow();
+            h = hash(l, lo, hi) & (buckets.length - 1);
+        }
+        int n = free;
+        free = next[n];
+        used++;
+        level[n] = l;
+        low[n] = lo;
+        high[n] = hi;
+        refs[n] = 0;
+        next[n] = buckets[h];
+        buckets[h] = n;
+        return n;
+    }
+
+    /* doubles every table, rehashing the nodes and dropping the cached operations */
+    private void grow() {
+        int old = level.length;
+        int capacity = old * 2;
+        level = Arrays.copyOf(level, capacity);
+        low = Arrays.copyOf(low, capacity);
+        high = Arrays.copyOf(high, capacity);
+        next = Arrays.copyOf(next, capacity);
+        refs = Arrays.copyOf(refs, capacity);
+        cacheOp = new int[capacity];
+        cacheA = new int[capacity];
+        cacheB = new int[capacity];
+        cacheResult = new int[capacity];
+        Arrays.fill(cacheOp, -1);
+
+        for (int i = capacity - 1; i >= old; i--) {
+            level[i] = -1;
+            next[i] = free;
+            free = i;
+        }
+        rehash(null);
+        collectAt = Math.max(collectAt, capacity * 3 / 4);
+    }
+
+    /* rebuilds the unique table from the nodes in use, those marked when a mark is given, freeing the others */
+    private void rehash(BitSet marked) {
+        buckets = new int[level.length];
+        Arrays.fill(buckets, -1);
+        int firstFree = marked == null ? free : -1;
+        for (int n = level.length - 1; n >= 2; n--) {
+            if (marked == null ? level[n] < 0 : !marked.get(n))
+                continue;
+            int h = hash(level[n], low[n], high[n]) & (buckets.length - 1);
+            next[n] = buckets[h];
+            buckets[h] = n;
+        }
+        if (marked != null) {
+            // every node not reached goes back on the free list
+            used = 2;
+            for (int n = level.length - 1; n >= 2; n--) {
+                if (marked.get(n)) {
+                    used++;
+                } else {
+                    level[n] = -1;
+                    next[n] = firstFree;
+                    firstFree = n;
+                }
+            }
+            free = firstFree;
+        }
+    }
+
+    /* reclaims the nodes unreachable from the protected ones and the two operands once the table is mostly in use */
+    private void collect(int a, int b) {
+        if (used < collectAt)
+            return;
+        protect(a);
+        protect(b);
+
+        BitSet marked = new BitSet(level.length);
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (int n = 2; n < level.length; n++) {
+            if (level[n] >= 0 && refs[n] > 0)
+                stack.push(n);
+        }
+        while (!stack.isEmpty()) {
+            int n = stack.pop();
+            if (n < 2 || marked.get(n))
+                continue;
+            marked.set(n);
+            stack.push(low[n]);
+            stack.push(high[n]);
+        }
+        rehash(marked);
+        Arrays.fill(cacheOp, -1);
+        collections++;
+
+        // collect less often while most nodes stay reachable
+        if (used > collectAt / 2)
+            collectAt *= 2;
+
+        release(a);
+        release(b);
+    }
+
+    /* keeps a node and everything below it alive across collections until it is released */
+    void protect(int n) {
+        refs[n]++;
+    }
+
+    /* undoes one protect of a node */
+    void release(int n) {
+        refs[n]--;
+    }
+
+    /* @return every prime implicant of the function, throws CancellationException if the thread is interrupted meanwhile */
+    ArrayList<Term> primes(int f) {
+        HashMap<Integer, ArrayList<Term>> memo = new HashMap<>();
+        ArrayList<Term> result = primes(f, memo);
+
+        // the nodes were kept alive as keys of the memo
+        for (Integer n : memo.keySet())
+            release(n);
+        return result;
+    }
+
+    /* @return prime implicants of a node, each node solved once and kept alive while it is a key of the memo */
+    private ArrayList<Term> primes(int f, HashMap<Integer, ArrayList<Term>> memo) {
+        if (f == FALSE)
+            return new ArrayList<>();
+        if (f == TRUE) {
+            // the cube with a '-' at every position
+            ArrayList<Term> all = new ArrayList<>();
+            all.add(new Term(0, length == 64 ? -1L : (1L << length) - 1, length));
+            return all;
+        }
+        ArrayList<Term> result = memo.get(f);
+        if (result != null)
+            return result;
+        QuineMcCluskeyMethod.checkCancelled();
+
+        result = new ArrayList<>();
+        protect(f);
+        memo.put(f, result);
+        long bit = bitOf(level[f]);
+        ArrayList<Term> both = primes(and(low[f], high[f]), memo);
+        ArrayList<Term> zero = primes(low[f], memo);
+        ArrayList<Term> one = primes(high[f], memo);
+
+        // primes of both cofactors keep the '-', the others take the literal of their cofactor
+        HashSet<Term> shared = new HashSet<>(both);
+        result.addAll(both);
+        for (int i = 0; i < zero.size(); i++) {
+            Term t = zero.get(i);
+            if (!shared.contains(t))
+                result.add(new Term(t.getValue(), t.getMask() & ~bit, length));
+        }
+        for (int i = 0; i < one.size(); i++) {
+            Term t = one.get(i);
+            if (!shared.contains(t))
+                result.add(new Term(t.getValue() | bit, t.getMask() & ~bit, length));
+        }
+        return result;
+    }
+
+    /* @return number of nodes in use, the constants included */
+    int nodeCount() {
+        return used;
+    }
+
+    /* @return number of collections run so far */
+    int collectionCount() {
+        return collections;
+    }
+
+    /* @return bit of the term position at a level */
+    private long bitOf(int l) {
+        return 1L << (length - 1 - l);
+    }
+
+    /* @return index of the cache entry for an operation */
+    private int cacheSlot(int op, int a, int b) {
+        return hash(op, a, b) & (cacheOp.length - 1);
+    }
+
+    /* @return hash of three ints */
+    private static int hash(int x, int y, int z) {
+        int h = x * 0x9E3779B1 + y * 0x85EBCA6B + z * 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
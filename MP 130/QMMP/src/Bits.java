@@ -0,0 +1,121 @@
+/*
+ * File: Bits.java
+ * --------------------------
+ * This file contains the Bits class, helper methods for bit sets stored as long arrays.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Bit i of a set is bit (i % 64) of element (i / 64). All sets taking part in one
+ * operation have the same number of longs.
+ */
+
+// definition of the Bits class.
+final class Bits {
+
+    private Bits() {
+    }
+
+    /* @return number of longs needed for a bit set of the given size */
+    static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /* @return true if bit i of a is set */
+    static boolean get(long[] a, int i) {
+        return (a[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /* sets bit i of a */
+    static void set(long[] a, int i) {
+        a[i >>> 6] |= 1L << i;
+    }
+
+    /* clears bit i of a */
+    static void clear(long[] a, int i) {
+        a[i >>> 6] &= ~(1L << i);
+    }
+
+    /* @return number of bits set in a */
+    static int bitCount(long[] a) {
+        int count = 0;
+        for (int w = 0; w < a.length; w++)
+            count += Long.bitCount(a[w]);
+        return count;
+    }
+
+    /* @return index of the first set bit at or after from, -1 if there is none */
+    static int nextSetBit(long[] a, int from) {
+        int w = from >>> 6;
+        if (w >= a.length)
+            return -1;
+        long word = a[w] & (-1L << from);
+        while (true) {
+            if (word != 0)
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == a.length)
+                return -1;
+            word = a[w];
+        }
+    }
+
+    /* @return true if no bit of a is set */
+    static boolean isEmpty(long[] a) {
+        for (int w = 0; w < a.length; w++) {
+            if (a[w] != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /* @return true if every bit of b is set in a */
+    static boolean containsAll(long[] a, long[] b) {
+        for (int w = 0; w < a.length; w++) {
+            if ((b[w] & ~a[w]) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /* @return true if a and b have a bit in common */
+    static boolean intersects(long[] a, long[] b) {
+        for (int w = 0; w < a.length; w++) {
+            if ((a[w] & b[w]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /* @return true if a, b and c have a bit in common */
+    static boolean intersectsAnd(long[] a, long[] b, long[] c) {
+        for (int w = 0; w < a.length; w++) {
+            if ((a[w] & b[w] & c[w]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /* @return number of bits set in both a and b */
+    static int countAnd(long[] a, long[] b) {
+        int count = 0;
+        for (int w = 0; w < a.length; w++)
+            count += Long.bitCount(a[w] & b[w]);
+        return count;
+    }
+
+    /* @return new bit set of the bits set in both a and b */
+    static long[] and(long[] a, long[] b) {
+        long[] r = new long[a.length];
+        for (int w = 0; w < a.length; w++)
+            r[w] = a[w] & b[w];
+        return r;
+    }
+
+    /* @return new bit set of the bits of a not set in b */
+    static long[] andNot(long[] a, long[] b) {
+        long[] r = new long[a.length];
+        for (int w = 0; w < a.length; w++)
+            r[w] = a[w] & ~b[w];
+        return r;
+    }
+}
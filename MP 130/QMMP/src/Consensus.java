@@ -0,0 +1,219 @@
+/*
+ * File: Consensus.java
+ * --------------------------
+ * This file contains the Consensus class, which generates every prime implicant of a
+ * function from any cube cover of it by iterated consensus.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Two cubes whose literals conflict in exactly one position have a consensus: the cube
+ * with that position turned into a '-' and the remaining literals of both. It lies in
+ * the union of the two cubes, so it is an implicant of the function. Starting from the
+ * given cover, the consensus is taken on one position after the other: every pair of
+ * cubes with opposite literals there and no other conflict adds its consensus, a cube
+ * contained in another being dropped as soon as it appears. A consensus has a '-' at
+ * that position, so it takes no part in further consensus on it, and a cube dropped
+ * meanwhile only has consensuses contained in the cube that dropped it. Once every
+ * position has been taken, the cubes left are exactly the prime implicants (Tison's
+ * method), which adds far fewer cubes than taking the consensus of any two cubes until
+ * nothing changes.
+ *
+ * The work depends on the number of cubes along the way rather than on the number of
+ * minterms, so a function given as a few large cubes is never expanded into minterms.
+ *
+ * Cubes are kept as literal and '-' bits in slots of two long arrays, and indexed by a
+ * trie with a 0, a 1 and a '-' branch per position. Looking for a cube containing a
+ * given one follows only the '-' branch where the given cube has a '-', and looking for
+ * the cubes it contains follows only its own literal where it has one, so containment in
+ * either direction visits the few cubes sharing a prefix with it rather than every cube.
+ * The cubes a given one has a consensus with on a position are found the same way,
+ * following the other literal at that position.
+ */
+
+import java.util.*;
+
+// definition of the Consensus class.
+class Consensus {
+
+    /* number of positions */
+    private final int length;
+
+    /* literals and '-' positions of every cube found, by slot, and the slots dropped since */
+    private long[] values = new long[64];
+    private long[] masks = new long[64];
+    private final BitSet dropped = new BitSet();
+    private int count;
+
+    /*
+     * ternary trie of the cubes kept, one level per position from the first, with the
+     * children of a node for a 0, a 1 and a '-' there at 3 * node, 3 * node + 1 and
+     * 3 * node + 2, 0 for none; the number of cubes kept below each node, and the slot
+     * of the cube ending at each leaf
+     */
+    private int[] children = new int[3 * 256];
+    private int[] kept = new int[256];
+    private int[] leaves = new int[256];
+    private int nodes = 1;
+
+    /* slots of the cubes found by partners, and their number */
+    private int[] partners = new int[64];
+    private int found;
+
+    /* constructor for the function covered by the given cubes, all of the same length */
+    Consensus(List<Term> cover) {
+        this.length = cover.isEmpty() ? 1 : cover.get(0).getLength();
+        for (int i = 0; i < cover.size(); i++)
+            add(cover.get(i).getValue(), cover.get(i).getMask());
+    }
+
+    /* @return every prime implicant, throws CancellationException if the thread is interrupted meanwhile */
+    ArrayList<Term> primes() {
+        for (int depth = 0; depth < length; depth++) {
+            QuineMcCluskeyMethod.checkCancelled();
+            long bit = 1L << (length - 1 - depth);
+
+            // the cubes with a 0 there, each paired with those with a 1; the consensuses added have a '-' there
+            int end = count;
+            for (int i = 0; i < end; i++) {
+                if (dropped.get(i) || ((masks[i] | values[i]) & bit) != 0)
+                    continue;
+                found = 0;
+                partners(0, 0, values[i], masks[i], depth);
+                int[] with = Arrays.copyOf(partners, found);
+                for (int k = 0; k < with.length && !dropped.get(i); k++) {
+                    int j = with[k];
+                    if (dropped.get(j))
+                        continue;
+                    long mask = (masks[i] & masks[j]) | bit;
+                    add((values[i] | values[j]) & ~mask, mask);
+                }
+            }
+        }
+
+        ArrayList<Term> result = new ArrayList<>();
+        for (int i = dropped.nextClearBit(0); i < count; i = dropped.nextClearBit(i + 1))
+            result.add(new Term(values[i], masks[i], length));
+        return result;
+    }
+
+    /* adds a cube unless some cube contains it, dropping the cubes it contains */
+    private void add(long value, long mask) {
+        if (contained(value, mask))
+            return;
+        dropContained(value, mask);
+
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+            masks = Arrays.copyOf(masks, count * 2);
+        }
+        values[count] = value;
+        masks[count] = mask;
+        insert(value, mask, count);
+        count++;
+    }
+
+    /* @return child of a node for the literal or '-' of the cube at the given depth */
+    private int branch(long value, long mask, int depth) {
+        long bit = 1L << (length - 1 - depth);
+        return (mask & bit) != 0 ? 2 : (value & bit) != 0 ? 1 : 0;
+    }
+
+    /* puts the cube in the given slot into the trie */
+    private void insert(long value, long mask, int slot) {
+        int node = 0;
+        kept[0]++;
+        for (int depth = 0; depth < length; depth++) {
+            int c = 3 * node + branch(value, mask, depth);
+            if (children[c] == 0) {
+                if (nodes == kept.length) {
+                    children = Arrays.copyOf(children, 6 * nodes);
+                    kept = Arrays.copyOf(kept, 2 * nodes);
+                    leaves = Arrays.copyOf(leaves, 2 * nodes);
+                }
+                children[c] = nodes++;
+            }
+            node = children[c];
+            kept[node]++;
+        }
+        leaves[node] = slot;
+    }
+
+    /* @return true if a cube kept contains the given one */
+    private boolean contained(long value, long mask) {
+        return contained(0, 0, value, mask);
+    }
+
+    /* @return true if a cube kept below the node at the given depth contains the given one */
+    private boolean contained(int node, int depth, long value, long mask) {
+        if (kept[node] == 0)
+            return false;
+        if (depth == length)
+            return true;
+
+        // a '-' there takes either literal, a literal only itself
+        int b = branch(value, mask, depth);
+        int dash = children[3 * node + 2];
+        if (dash != 0 && contained(dash, depth + 1, value, mask))
+            return true;
+        int literal = b == 2 ? 0 : children[3 * node + b];
+        return literal != 0 && contained(literal, depth + 1, value, mask);
+    }
+
+    /* collects the slots of the cubes kept below the node at the given depth whose literals conflict with the given one's only at position at */
+    private void partners(int node, int depth, long value, long mask, int at) {
+        if (kept[node] == 0)
+            return;
+        if (depth == length) {
+            if (found == partners.length)
+                partners = Arrays.copyOf(partners, 2 * found);
+            partners[found++] = leaves[node];
+            return;
+        }
+
+        // the other literal at that position, elsewhere the same literal or a '-' on either side
+        int b = branch(value, mask, depth);
+        for (int t = 0; t < 3; t++) {
+            int c = children[3 * node + t];
+            boolean follow = depth == at ? t == 1 - b : b == 2 || t == 2 || t == b;
+            if (c != 0 && follow)
+                partners(c, depth + 1, value, mask, at);
+        }
+    }
+
+    /* drops every cube kept that the given one contains */
+    private void dropContained(long value, long mask) {
+        dropContained(0, 0, value, mask);
+    }
+
+    /* drops every cube kept below the node at the given depth that the given one contains, @return number dropped */
+    private int dropContained(int node, int depth, long value, long mask) {
+        if (kept[node] == 0)
+            return 0;
+        if (depth == length) {
+            dropped.set(leaves[node]);
+            kept[node] = 0;
+            return 1;
+        }
+
+        // a '-' there holds cubes with anything at that position, a literal only those with the same literal
+        int b = branch(value, mask, depth);
+        int removed = 0;
+        for (int t = b == 2 ? 0 : b; t <= b; t++) {
+            int c = children[3 * node + t];
+            if (c != 0)
+                removed += dropContained(c, depth + 1, value, mask);
+        }
+        kept[node] -= removed;
+        return removed;
+    }
+
+    /* @return consensus of two cubes, null unless their literals conflict in exactly one position */
+    static Term consensus(Term a, Term b) {
+        long conflict = ~(a.getMask() | b.getMask()) & (a.getValue() ^ b.getValue());
+        if (Long.bitCount(conflict) != 1)
+            return null;
+        long mask = (a.getMask() & b.getMask()) | conflict;
+        return new Term((a.getValue() | b.getValue()) & ~mask, mask, a.getLength());
+    }
+}
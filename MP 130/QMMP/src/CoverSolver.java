@@ -0,0 +1,297 @@
+/*
+ * File: CoverSolver.java
+ * --------------------------
+ * This file contains the CoverSolver class, an exact minimum cover solver for
+ * the prime implicant chart left over once no more reductions apply.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Rows are the remaining prime implicants and columns the remaining minterms, both
+ * held as bit sets. The solver branches on the uncovered column with the fewest rows
+ * and prunes every branch whose chosen rows plus a lower bound cannot beat the best
+ * cover found so far. The lower bound is the size of a maximal set of uncovered
+ * columns no two of which share a row, since each of them needs a row of its own.
+ *
+ * Every minimum cover can also be enumerated lazily. The search then keeps its own
+ * stack of the columns being branched on, so it can stop after any cover and resume
+ * from there when the next one is asked for. Dominated rows are kept, as dropping them
+ * would lose covers of the same size.
+ */
+
+import java.util.*;
+
+// definition of the CoverSolver class.
+class CoverSolver {
+
+    /* columns covered by each row */
+    private final long[][] rows;
+
+    /* rows covering each column */
+    private final long[][] columns;
+
+    /* number of longs in a bit set over the columns and over the rows */
+    private final int colWords;
+    private final int rowWords;
+
+    /* best cover found so far and its size */
+    private int[] best;
+    private int bestSize;
+
+    /* column being branched on by the lazy search, with the rows still to be tried for it */
+    private static final class Frame {
+
+        /* columns left uncovered by the rows chosen above this frame */
+        private final long[] uncovered;
+
+        /* rows the children may use, losing each candidate once it has been tried */
+        private final long[] allowed;
+
+        /* allowed rows covering the column, tried in order from next on */
+        private final long[] candidates;
+        private int next;
+
+        Frame(long[] uncovered, long[] allowed, long[] candidates) {
+            this.uncovered = uncovered;
+            this.allowed = allowed;
+            this.candidates = candidates;
+        }
+    }
+
+    /* constructor for a chart whose rows are given as bit sets over columnCount columns */
+    CoverSolver(long[][] rows, int columnCount) {
+        this.rows = rows;
+        this.colWords = (columnCount + 63) >>> 6;
+        this.rowWords = (rows.length + 63) >>> 6;
+
+        // transpose the rows into columns
+        columns = new long[columnCount][rowWords];
+        for (int r = 0; r < rows.length; r++) {
+            for (int c = 0; c < columnCount; c++) {
+                if ((rows[r][c >>> 6] & (1L << c)) != 0)
+                    columns[c][r >>> 6] |= 1L << r;
+            }
+        }
+    }
+
+    /* @return indeces of the rows of a minimum cover of every column, null if some column cannot be covered */
+    int[] solve() {
+        long[] uncovered = new long[colWords];
+        for (int c = 0; c < columns.length; c++)
+            uncovered[c >>> 6] |= 1L << c;
+
+        long[] allowed = new long[rowWords];
+        for (int r = 0; r < rows.length; r++)
+            allowed[r >>> 6] |= 1L << r;
+
+        // any cover is an upper bound, so start from the greedy one
+        best = greedy(uncovered.clone(), allowed);
+        bestSize = best == null ? Integer.MAX_VALUE : best.length;
+
+        search(new int[rows.length], 0, uncovered, allowed);
+        return best;
+    }
+
+    /* @return iterator over the rows of every minimum cover, each one given once, none if some column cannot be covered */
+    Iterator<int[]> minimumCovers() {
+        int[] minimum = solve();
+        if (minimum == null)
+            return Collections.emptyIterator();
+        int size = minimum.length;
+
+        long[] uncovered = new long[colWords];
+        for (int c = 0; c < columns.length; c++)
+            uncovered[c >>> 6] |= 1L << c;
+        long[] allowed = new long[rowWords];
+        for (int r = 0; r < rows.length; r++)
+            allowed[r >>> 6] |= 1L << r;
+
+        // without columns the empty cover is the only one
+        if (columns.length == 0)
+            return List.of(new int[0]).iterator();
+
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        stack.push(frame(uncovered, allowed, 0, size));
+        int[] chosen = new int[size];
+
+        return new Iterator<int[]>() {
+            // cover found by the search but not returned yet
+            private int[] found;
+
+            @Override
+            public boolean hasNext() {
+                if (found == null)
+                    found = advance();
+                return found != null;
+            }
+
+            @Override
+            public int[] next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                int[] r = found;
+                found = null;
+                return r;
+            }
+
+            /* @return next cover of the given size, resuming the search where it stopped, null once it is exhausted */
+            private int[] advance() {
+                while (!stack.isEmpty()) {
+                    QuineMcCluskeyMethod.checkCancelled();
+                    Frame f = stack.peek();
+                    int r = Bits.nextSetBit(f.candidates, f.next);
+                    if (r < 0) {
+                        stack.pop();
+                        continue;
+                    }
+
+                    // the row is tried once here and excluded from the branches of later candidates
+                    f.next = r + 1;
+                    f.allowed[r >>> 6] &= ~(1L << r);
+                    int depth = stack.size();
+                    chosen[depth - 1] = r;
+                    long[] left = Bits.andNot(f.uncovered, rows[r]);
+                    if (Bits.isEmpty(left))
+                        return Arrays.copyOf(chosen, depth);
+
+                    Frame child = frame(left, f.allowed.clone(), depth, size);
+                    if (child != null)
+                        stack.push(child);
+                }
+                return null;
+            }
+        };
+    }
+
+    /* @return frame branching on the uncovered column with the fewest allowed rows, null if no cover of the given size lies below it */
+    private Frame frame(long[] uncovered, long[] allowed, int depth, int size) {
+        if (depth + lowerBound(uncovered, allowed) > size)
+            return null;
+
+        int column = -1;
+        int fewest = Integer.MAX_VALUE;
+        for (int c = Bits.nextSetBit(uncovered, 0); c >= 0; c = Bits.nextSetBit(uncovered, c + 1)) {
+            int count = Bits.countAnd(columns[c], allowed);
+            if (count < fewest) {
+                fewest = count;
+                column = c;
+            }
+        }
+        if (fewest == 0)
+            return null;
+        return new Frame(uncovered, allowed, Bits.and(columns[column], allowed));
+    }
+
+    /* depth first search over the rows covering the hardest uncovered column */
+    private void search(int[] chosen, int size, long[] uncovered, long[] allowed) {
+        QuineMcCluskeyMethod.checkCancelled();
+        if (Bits.isEmpty(uncovered)) {
+            if (size < bestSize) {
+                bestSize = size;
+                best = Arrays.copyOf(chosen, size);
+            }
+            return;
+        }
+
+        // drop rows whose uncovered columns are all covered by another allowed row
+        allowed = removeDominatedRows(uncovered, allowed);
+
+        // prune when even the lower bound cannot beat the best cover found so far
+        if (size + lowerBound(uncovered, allowed) >= bestSize)
+            return;
+
+        // branch on the uncovered column with the fewest allowed rows
+        int column = -1;
+        int fewest = Integer.MAX_VALUE;
+        for (int c = Bits.nextSetBit(uncovered, 0); c >= 0; c = Bits.nextSetBit(uncovered, c + 1)) {
+            int count = Bits.countAnd(columns[c], allowed);
+            if (count < fewest) {
+                fewest = count;
+                column = c;
+            }
+        }
+        if (fewest == 0)
+            return;
+
+        // try each row of that column, excluding the ones already tried from later branches
+        long[] rest = allowed.clone();
+        long[] candidates = Bits.and(columns[column], allowed);
+        for (int r = Bits.nextSetBit(candidates, 0); r >= 0; r = Bits.nextSetBit(candidates, r + 1)) {
+            chosen[size] = r;
+            rest[r >>> 6] &= ~(1L << r);
+            search(chosen, size + 1, Bits.andNot(uncovered, rows[r]), rest);
+        }
+    }
+
+    /* @return allowed rows without those covering no more uncovered columns than another allowed row */
+    private long[] removeDominatedRows(long[] uncovered, long[] allowed) {
+        // restrict every allowed row to the uncovered columns
+        int n = 0;
+        int[] index = new int[rows.length];
+        long[][] cover = new long[rows.length][];
+        for (int r = Bits.nextSetBit(allowed, 0); r >= 0; r = Bits.nextSetBit(allowed, r + 1)) {
+            index[n] = r;
+            cover[n++] = Bits.and(rows[r], uncovered);
+        }
+
+        long[] result = allowed.clone();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i == j || (result[index[j] >>> 6] & (1L << index[j])) == 0)
+                    continue;
+                // of two equal rows only the first one is kept
+                if (Bits.containsAll(cover[j], cover[i]) && (j < i || !Bits.containsAll(cover[i], cover[j]))) {
+                    result[index[i] >>> 6] &= ~(1L << index[i]);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /* @return number of uncovered columns that pairwise share no allowed row, taking columns with fewer rows first */
+    private int lowerBound(long[] uncovered, long[] allowed) {
+        // order the uncovered columns by their number of allowed rows
+        int n = 0;
+        long[] order = new long[columns.length];
+        for (int c = Bits.nextSetBit(uncovered, 0); c >= 0; c = Bits.nextSetBit(uncovered, c + 1))
+            order[n++] = ((long) Bits.countAnd(columns[c], allowed) << 32) | c;
+        Arrays.sort(order, 0, n);
+
+        long[] used = new long[rowWords];
+        int bound = 0;
+        for (int i = 0; i < n; i++) {
+            long[] column = columns[(int) order[i]];
+            if (!Bits.intersectsAnd(column, allowed, used)) {
+                bound++;
+                for (int w = 0; w < rowWords; w++)
+                    used[w] |= column[w] & allowed[w];
+            }
+        }
+        return bound;
+    }
+
+    /* @return cover built by repeatedly taking the row covering most uncovered columns, null if there is none */
+    private int[] greedy(long[] uncovered, long[] allowed) {
+        ArrayList<Integer> picked = new ArrayList<>();
+        while (!Bits.isEmpty(uncovered)) {
+            int row = -1;
+            int most = 0;
+            for (int r = Bits.nextSetBit(allowed, 0); r >= 0; r = Bits.nextSetBit(allowed, r + 1)) {
+                int count = Bits.countAnd(rows[r], uncovered);
+                if (count > most) {
+                    most = count;
+                    row = r;
+                }
+            }
+            if (row == -1)
+                return null;
+            picked.add(row);
+            uncovered = Bits.andNot(uncovered, rows[row]);
+        }
+        int[] result = new int[picked.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = picked.get(i);
+        return result;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * File: CoverTable.java
+ * --------------------------
+ * This file contains the CoverTable class, a precomputed table holding a minimum cover
+ * of every function of at most 4 variables.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * The table is a file of 65536 records of 9 bytes, one per 4-variable truth table. The
+ * first byte of a record is the number of cubes of the cover, at most 8, followed by one
+ * byte per cube with the '-' positions in the high four bits and the literals in the low
+ * four bits. The file is mapped read only, so answering a function is a single lookup and
+ * several solvers can share one table.
+ *
+ * A function of fewer variables is looked up as the 4-variable function not depending on
+ * the extra ones, whose minimum covers never mention them. The prime implicants and the
+ * essential ones are derived from the truth table on each lookup.
+ *
+ * Usage to generate the table: java -cp QMMP.jar CoverTable [file]
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+// definition of the CoverTable class.
+public final class CoverTable {
+
+    /* most variables of a function the table answers */
+    public static final int MAX_VARIABLES = 4;
+
+    /* file the generator writes when none is given */
+    public static final String DEFAULT_FILE = "covers4.bin";
+
+    /* number of 4-variable functions and bytes per record */
+    private static final int FUNCTIONS = 1 << 16;
+    private static final int RECORD = 9;
+
+    /* truth table of each cube, indexed by its '-' positions times 16 plus its literals */
+    private static final int[] CUBES = new int[256];
+
+    static {
+        for (int mask = 0; mask < 16; mask++) {
+            for (int value = 0; value < 16; value++) {
+                if ((value & mask) != 0)
+                    continue;
+                for (int m = 0; m < 16; m++) {
+                    if ((m & ~mask) == value)
+                        CUBES[mask << 4 | value] |= 1 << m;
+                }
+            }
+        }
+    }
+
+    /* records of the table */
+    private final ByteBuffer records;
+
+    /* constructor for a table over the given records */
+    private CoverTable(ByteBuffer records) {
+        this.records = records;
+    }
+
+    /* @return table mapped read only from a file written by the generator, throws IOException if it cannot be read or has the wrong size */
+    public static CoverTable load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != (long) FUNCTIONS * RECORD)
+                throw new IOException("Not a cover table: " + file);
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CoverTable(records);
+        }
+    }
+
+    /* @return result for the function with the given distinct minterms over variableCount variables, at most MAX_VARIABLES */
+    MinimizationResult lookup(long[] minterms, int variableCount) {
+        int table = 0;
+        for (int i = 0; i < minterms.length; i++)
+            table |= 1 << minterms[i];
+
+        // repeat the truth table so the function does not depend on the missing variables
+        for (int n = variableCount; n < MAX_VARIABLES; n++)
+            table |= table << (1 << n);
+        table &= 0xFFFF;
+
+        ArrayList<Term> cover = new ArrayList<>();
+        int count = records.get(table * RECORD);
+        for (int i = 0; i < count; i++)
+            cover.add(term(records.get(table * RECORD + 1 + i) & 0xFF, variableCount));
+
+        // prime implicants are the implicants that stay implicants of no cube with one more '-'
+        ArrayList<Term> primes = new ArrayList<>();
+        ArrayList<Term> essentials = new ArrayList<>();
+        int[] covering = new int[16];
+        int[] cubes = new int[81];
+        int k = 0;
+        for (int cube = 0; cube < 256; cube++) {
+            if (isImplicant(cube, table) && isPrime(cube, table)) {
+                cubes[k++] = cube;
+                for (int m = 0; m < 16; m++) {
+                    if ((CUBES[cube] >>> m & 1) != 0)
+                        covering[m]++;
+                }
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            Term t = term(cubes[i], variableCount);
+            primes.add(t);
+
+            // a prime is essential when it is the only one covering some minterm
+            for (int m = 0; m < 16; m++) {
+                if ((CUBES[cubes[i]] >>> m & 1) != 0 && covering[m] == 1) {
+                    essentials.add(t);
+                    break;
+                }
+            }
+        }
+        return new MinimizationResult(variableCount, primes, essentials, List.of(cover));
+    }
+
+    /* @return true if the cube is a valid cube lying inside the function */
+    private static boolean isImplicant(int cube, int table) {
+        return CUBES[cube] != 0 && (CUBES[cube] & ~table) == 0;
+    }
+
+    /* @return true if no cube with one more '-' is also an implicant */
+    private static boolean isPrime(int cube, int table) {
+        int mask = cube >>> 4;
+        int value = cube & 15;
+        for (int b = 1; b < 16; b <<= 1) {
+            if ((mask & b) == 0 && isImplicant((mask | b) << 4 | (value & ~b), table))
+                return false;
+        }
+        return true;
+    }
+
+    /* @return term of a cube byte, cut down to variableCount positions */
+    private static Term term(int cube, int variableCount) {
+        long low = (1L << variableCount) - 1;
+        return new Term(cube & 15 & low, (cube >>> 4) & low, variableCount);
+    }
+
+    /* generates the table by solving every 4-variable function */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        byte[] records = new byte[FUNCTIONS * RECORD];
+
+        // the constant 0 function has no minterms and keeps its empty record
+        for (int table = 1; table < FUNCTIONS; table++) {
+            long[] minterms = new long[Integer.bitCount(table)];
+            int k = 0;
+            for (int m = 0; m < 16; m++) {
+                if ((table >>> m & 1) != 0)
+                    minterms[k++] = m;
+            }
+
+            QuineMcCluskeyMethod s = new QuineMcCluskeyMethod(minterms, MAX_VARIABLES);
+            s.solve();
+            List<Term> cover = s.getResult().getCovers().get(0);
+            if (cover.size() > RECORD - 1)
+                throw new IllegalStateException("Cover too large for a record: " + cover);
+
+            records[table * RECORD] = (byte) cover.size();
+            for (int i = 0; i < cover.size(); i++) {
+                Term t = cover.get(i);
+                records[table * RECORD + 1 + i] = (byte) (t.getMask() << 4 | t.getValue());
+            }
+        }
+
+        Files.write(file, records);
+        System.out.println("Wrote " + FUNCTIONS + " covers to " + file);
+    }
+}
@@ -0,0 +1,530 @@
+/*
+ * File: Espresso.java
+ * --------------------------
+ * This file contains the Espresso class, a heuristic two-level minimizer in the style
+ * of the Espresso loop.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Instead of generating every prime implicant, the cover is improved in place: EXPAND
+ * raises literals of each cube while it stays inside the on-set and drops the cubes it
+ * swallows, IRREDUNDANT removes cubes covered by the others, and REDUCE shrinks each
+ * cube to the smallest cube holding what only it covers, so that the next EXPAND can
+ * grow it in another direction. The loop stops once a few passes in a row, each EXPAND
+ * starting from the next position, no longer lower the cost.
+ * The result is a near-minimal cover of prime cubes, not necessarily a minimum one.
+ *
+ * Every step works on cubes, never on single minterms. Given minterms are first turned
+ * into an irredundant cover by Minato and Morreale's method, splitting them on one
+ * position after another, so the loop starts from few cubes close to prime ones. The off-set is kept as a
+ * cube cover too, the complement of the on-set, so a literal may be raised as long as
+ * the cube still conflicts with every off-set cube. A cube is redundant when the others,
+ * restricted to it, are a tautology, and REDUCE keeps the supercube of the complement of
+ * the others within the cube. Tautology and complement split the cover on a position
+ * until it is a single cube or unate, as Espresso does; a unate cover's tautology and
+ * complement supercube are read off its cubes directly.
+ */
+
+import java.util.*;
+
+// definition of the Espresso class.
+class Espresso {
+
+    /* passes in a row without a lower cost after which the loop stops */
+    private static final int STALE_PASSES = 3;
+
+    /* number of variables */
+    private final int length;
+
+    /* bit of every position */
+    private final long full;
+
+    /* cubes of the on-set as they are given and of the off-set, each as {literals, '-' positions} */
+    private final ArrayList<long[]> on;
+    private final ArrayList<long[]> off;
+
+    /* position the literal raising of EXPAND starts from, rotated on every pass */
+    private int start;
+
+    /* constructor for the function with the given distinct minterms */
+    Espresso(long[] minterms, int length) {
+        this(cubes(minterms, length), length);
+    }
+
+    /* constructor for the function covered by the given cubes, which may overlap */
+    Espresso(List<Term> cover, int length) {
+        this.length = length;
+        this.full = length >= 64 ? -1L : (1L << length) - 1;
+        this.on = new ArrayList<>();
+        for (int i = 0; i < cover.size(); i++)
+            on.add(new long[] {cover.get(i).getValue(), cover.get(i).getMask()});
+        this.off = complement(on);
+    }
+
+    /* @return near-minimal cover of the on-set as terms */
+    ArrayList<Term> minimize() {
+        ArrayList<long[]> cover = copy(on);
+
+        cover = expand(cover);
+        irredundant(cover);
+        ArrayList<long[]> best = copy(cover);
+
+        // repeat reduce, expand and irredundant, stopping once a few passes bring no gain
+        int stale = 0;
+        while (stale < STALE_PASSES) {
+            QuineMcCluskeyMethod.checkCancelled();
+            start++;
+            reduce(cover);
+            cover = expand(cover);
+            irredundant(cover);
+            if (cost(cover) < cost(best)) {
+                best = copy(cover);
+                stale = 0;
+            } else {
+                stale++;
+            }
+        }
+
+        ArrayList<Term> result = new ArrayList<>();
+        for (int i = 0; i < best.size(); i++) {
+            result.add(new Term(best.get(i)[0], best.get(i)[1], length));
+        }
+        return result;
+    }
+
+    /* raises literals of every cube as far as the off-set allows, @return cover without the swallowed cubes */
+    private ArrayList<long[]> expand(ArrayList<long[]> cover) {
+        // expand the largest cubes first, they are the most likely to swallow others
+        cover.sort((a, b) -> Long.bitCount(b[1]) - Long.bitCount(a[1]));
+
+        long[] conflicts = new long[off.size()];
+        ArrayList<long[]> result = new ArrayList<>();
+        boolean[] removed = new boolean[cover.size()];
+        for (int i = 0; i < cover.size(); i++) {
+            QuineMcCluskeyMethod.checkCancelled();
+            if (removed[i])
+                continue;
+            long[] cube = cover.get(i);
+            long value = cube[0];
+            long mask = cube[1];
+
+            // positions where the cube conflicts with each off-set cube, a literal being blocked when it is the only one left against some cube
+            long blocked = 0;
+            for (int r = 0; r < conflicts.length; r++) {
+                conflicts[r] = conflict(value, mask, off.get(r)[0], off.get(r)[1]);
+                if (Long.bitCount(conflicts[r]) == 1)
+                    blocked |= conflicts[r];
+            }
+
+            // raise each literal in turn unless it is blocked, the conflicts on it are gone from then on
+            for (int k = 0; k < length; k++) {
+                long bit = 1L << ((k + start) % length);
+                if (((mask | blocked) & bit) != 0)
+                    continue;
+                mask |= bit;
+                value &= ~bit;
+                for (int r = 0; r < conflicts.length; r++) {
+                    if ((conflicts[r] & bit) != 0) {
+                        conflicts[r] &= ~bit;
+                        if (Long.bitCount(conflicts[r]) == 1)
+                            blocked |= conflicts[r];
+                    }
+                }
+            }
+            cube[0] = value;
+            cube[1] = mask;
+            result.add(cube);
+
+            // drop the later cubes the expanded one contains
+            for (int j = i + 1; j < cover.size(); j++) {
+                long[] other = cover.get(j);
+                if (!removed[j] && contains(value, mask, other[0], other[1]))
+                    removed[j] = true;
+            }
+        }
+        return result;
+    }
+
+    /* removes cubes covered by the other cubes, smallest cubes first */
+    private void irredundant(ArrayList<long[]> cover) {
+        cover.sort((a, b) -> Long.bitCount(a[1]) - Long.bitCount(b[1]));
+        for (int i = 0; i < cover.size(); i++) {
+            QuineMcCluskeyMethod.checkCancelled();
+            if (tautology(cofactor(cover, i))) {
+                cover.remove(i);
+                i--;
+            }
+        }
+    }
+
+    /* shrinks every cube to the smallest cube holding the minterms covered by it alone */
+    private void reduce(ArrayList<long[]> cover) {
+        cover.sort((a, b) -> Long.bitCount(b[1]) - Long.bitCount(a[1]));
+        for (int i = 0; i < cover.size(); i++) {
+            QuineMcCluskeyMethod.checkCancelled();
+            long[] cube = cover.get(i);
+
+            // supercube of what the other cubes leave uncovered within this one
+            long[] alone = complementSupercube(cofactor(cover, i));
+
+            // a cube covering nothing alone is redundant
+            if (alone == null) {
+                cover.remove(i);
+                i--;
+                continue;
+            }
+            cube[0] |= alone[0] & cube[1];
+            cube[1] &= alone[1];
+        }
+    }
+
+    /* @return the cubes other than cover[i] meeting it, with cover[i]'s literal positions turned into '-' */
+    private ArrayList<long[]> cofactor(ArrayList<long[]> cover, int i) {
+        long value = cover.get(i)[0];
+        long mask = cover.get(i)[1];
+        ArrayList<long[]> result = new ArrayList<>();
+        for (int j = 0; j < cover.size(); j++) {
+            long[] d = cover.get(j);
+            if (j != i && conflict(value, mask, d[0], d[1]) == 0)
+                result.add(new long[] {d[0] & mask, d[1] | (full & ~mask)});
+        }
+        return result;
+    }
+
+    /* @return the cubes not having the other literal at the position, with the position turned into '-' */
+    private static ArrayList<long[]> cofactor(ArrayList<long[]> cover, long bit, boolean one) {
+        ArrayList<long[]> result = new ArrayList<>();
+        for (int i = 0; i < cover.size(); i++) {
+            long[] d = cover.get(i);
+            if ((d[1] & bit) != 0 || ((d[0] & bit) != 0) == one)
+                result.add(new long[] {d[0] & ~bit, d[1] | bit});
+        }
+        return result;
+    }
+
+    /* @return true if the cubes cover every minterm */
+    private boolean tautology(ArrayList<long[]> cover) {
+        if (cover.isEmpty())
+            return false;
+        if (universal(cover))
+            return true;
+
+        // a cover with no position taking both literals is a tautology only if it holds the universal cube
+        long bit = splitPosition(cover, true);
+        if (bit == 0)
+            return false;
+        return tautology(cofactor(cover, bit, false)) && tautology(cofactor(cover, bit, true));
+    }
+
+    /* @return cubes covering every minterm the given cubes do not */
+    private ArrayList<long[]> complement(ArrayList<long[]> cover) {
+        ArrayList<long[]> result = new ArrayList<>();
+        if (cover.isEmpty()) {
+            result.add(new long[] {0, full});
+            return result;
+        }
+        if (universal(cover))
+            return result;
+
+        // De Morgan on a single cube, one cube for each of its literals negated
+        if (cover.size() == 1) {
+            long[] d = cover.get(0);
+            for (long literals = full & ~d[1]; literals != 0; literals &= literals - 1) {
+                long bit = literals & -literals;
+                result.add(new long[] {~d[0] & bit, full & ~bit});
+            }
+            return result;
+        }
+
+        QuineMcCluskeyMethod.checkCancelled();
+        long bit = splitPosition(cover, false);
+        ArrayList<long[]> zero = complement(cofactor(cover, bit, false));
+        ArrayList<long[]> one = complement(cofactor(cover, bit, true));
+
+        // a cube found on both sides takes a '-' at the position, the others their side's literal
+        HashSet<Term> both = new HashSet<>();
+        for (int i = 0; i < one.size(); i++)
+            both.add(new Term(one.get(i)[0], one.get(i)[1], length));
+        HashSet<Term> merged = new HashSet<>();
+        for (int i = 0; i < zero.size(); i++) {
+            long[] d = zero.get(i);
+            Term t = new Term(d[0], d[1], length);
+            if (both.contains(t)) {
+                merged.add(t);
+                result.add(d);
+            } else {
+                result.add(new long[] {d[0], d[1] & ~bit});
+            }
+        }
+        for (int i = 0; i < one.size(); i++) {
+            long[] d = one.get(i);
+            if (!merged.contains(new Term(d[0], d[1], length)))
+                result.add(new long[] {d[0] | bit, d[1] & ~bit});
+        }
+        return result;
+    }
+
+    /* @return smallest cube holding every minterm the given cubes do not cover, null if they cover all */
+    private long[] complementSupercube(ArrayList<long[]> cover) {
+        if (cover.isEmpty())
+            return new long[] {0, full};
+        if (universal(cover))
+            return null;
+
+        // without a position taking both literals, the minterm taking the other literal everywhere is left uncovered,
+        // and so is its neighbour across any position unless a cube is that position's literal alone
+        long ones = 0;
+        long zeros = 0;
+        for (int i = 0; i < cover.size(); i++) {
+            long[] d = cover.get(i);
+            ones |= d[0] & ~d[1];
+            zeros |= ~d[0] & ~d[1] & full;
+        }
+        if ((ones & zeros) == 0) {
+            long fixed = 0;
+            for (int i = 0; i < cover.size(); i++) {
+                long literals = full & ~cover.get(i)[1];
+                if (Long.bitCount(literals) == 1)
+                    fixed |= literals;
+            }
+            return new long[] {zeros & fixed, full & ~fixed};
+        }
+
+        long bit = splitPosition(cover, true);
+        long[] zero = complementSupercube(cofactor(cover, bit, false));
+        long[] one = complementSupercube(cofactor(cover, bit, true));
+        if (zero != null)
+            zero = new long[] {zero[0], zero[1] & ~bit};
+        if (one != null)
+            one = new long[] {one[0] | bit, one[1] & ~bit};
+        if (zero == null || one == null)
+            return zero == null ? one : zero;
+
+        // supercube of the two sides
+        long mask = zero[1] | one[1] | (zero[0] ^ one[0]);
+        return new long[] {zero[0] & ~mask, mask};
+    }
+
+    /* @return true if some cube is the universal cube */
+    private boolean universal(ArrayList<long[]> cover) {
+        for (int i = 0; i < cover.size(); i++) {
+            if (cover.get(i)[1] == full)
+                return true;
+        }
+        return false;
+    }
+
+    /* @return bit of the position with the most literals, among those taking both literals if any, 0 if binate is asked for and there is none */
+    private long splitPosition(ArrayList<long[]> cover, boolean binate) {
+        int[] zeros = new int[length];
+        int[] ones = new int[length];
+        for (int i = 0; i < cover.size(); i++) {
+            long[] d = cover.get(i);
+            for (long literals = full & ~d[1]; literals != 0; literals &= literals - 1) {
+                int k = Long.numberOfTrailingZeros(literals);
+                if ((d[0] & (1L << k)) != 0)
+                    ones[k]++;
+                else
+                    zeros[k]++;
+            }
+        }
+
+        int best = -1;
+        boolean bestBinate = false;
+        for (int k = 0; k < length; k++) {
+            if (zeros[k] + ones[k] == 0)
+                continue;
+            boolean b = zeros[k] > 0 && ones[k] > 0;
+            if (best < 0 || (b && !bestBinate) || (b == bestBinate && zeros[k] + ones[k] > zeros[best] + ones[best])) {
+                best = k;
+                bestBinate = b;
+            }
+        }
+        if (best < 0 || (binate && !bestBinate))
+            return 0;
+        return 1L << best;
+    }
+
+    /* @return irredundant cubes covering exactly the given distinct minterms */
+    private static ArrayList<Term> cubes(long[] minterms, int length) {
+        // unsigned order, so the minterms with a 0 at a position come before those with a 1 within every prefix
+        long[] sorted = minterms.clone();
+        for (int i = 0; i < sorted.length; i++)
+            sorted[i] ^= Long.MIN_VALUE;
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++)
+            sorted[i] ^= Long.MIN_VALUE;
+
+        ArrayList<long[]> cubes = new ArrayList<>();
+        isop(sorted, sorted, length, cubes);
+        ArrayList<Term> result = new ArrayList<>();
+        for (int i = 0; i < cubes.size(); i++)
+            result.add(new Term(cubes.get(i)[0], cubes.get(i)[1], length));
+        return result;
+    }
+
+    /*
+     * adds cubes covering every minterm of lower and none outside upper, both sorted and
+     * agreeing on the positions above free (Minato and Morreale's irredundant sum of
+     * products): the minterms whose neighbour across the highest free position is not in
+     * upper need a cube with their literal there, and what those cubes leave uncovered
+     * gets cubes with a '-' there, inside upper on both sides
+     */
+    private static void isop(long[] lower, long[] upper, int free, ArrayList<long[]> result) {
+        if (lower.length == 0)
+            return;
+        long low = free >= 64 ? -1L : (1L << free) - 1;
+        if (free == 0 || (free < 31 && upper.length == 1 << free)) {
+            result.add(new long[] {upper[0] & ~low, low});
+            return;
+        }
+        QuineMcCluskeyMethod.checkCancelled();
+
+        long bit = 1L << (free - 1);
+        int lowerSplit = split(lower, bit);
+        int upperSplit = split(upper, bit);
+        long[] lower0 = Arrays.copyOfRange(lower, 0, lowerSplit);
+        long[] lower1 = Arrays.copyOfRange(lower, lowerSplit, lower.length);
+        long[] upper0 = Arrays.copyOfRange(upper, 0, upperSplit);
+        long[] upper1 = Arrays.copyOfRange(upper, upperSplit, upper.length);
+
+        // cubes with a 0 there, then with a 1, for the minterms that cannot cross
+        int first = result.size();
+        isop(without(lower0, upper1, bit), upper0, free - 1, result);
+        int middle = result.size();
+        isop(without(lower1, upper0, bit), upper1, free - 1, result);
+        int last = result.size();
+
+        // cubes with a '-' there for the rest, taken on the 0 side
+        long[] rest = union(uncovered(result, first, middle, lower0, free - 1),
+                uncovered(result, middle, last, lower1, free - 1), bit);
+        isop(rest, within(upper0, upper1, bit), free - 1, result);
+        for (int i = last; i < result.size(); i++)
+            result.get(i)[1] |= bit;
+    }
+
+    /* @return index of the first minterm with the bit set, those without it coming first */
+    private static int split(long[] minterms, long bit) {
+        int lo = 0;
+        int hi = minterms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if ((minterms[mid] & bit) == 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /* @return minterms of a whose neighbour across the bit is not in b, both sorted with a and b on opposite sides */
+    private static long[] without(long[] a, long[] b, long bit) {
+        long[] result = new long[a.length];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < a.length; i++) {
+            long m = a[i] ^ bit;
+            while (j < b.length && Long.compareUnsigned(b[j], m) < 0)
+                j++;
+            if (j == b.length || b[j] != m)
+                result[n++] = a[i];
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /* @return minterms of the 0 side a whose neighbour across the bit is in the 1 side b */
+    private static long[] within(long[] a, long[] b, long bit) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < a.length; i++) {
+            long m = a[i] | bit;
+            while (j < b.length && Long.compareUnsigned(b[j], m) < 0)
+                j++;
+            if (j < b.length && b[j] == m)
+                result[n++] = a[i];
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /* @return sorted union of the 0 side a and the 1 side b moved across the bit to the 0 side */
+    private static long[] union(long[] a, long[] b, long bit) {
+        long[] result = new long[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            long m = j < b.length ? b[j] & ~bit : 0;
+            if (j == b.length || (i < a.length && Long.compareUnsigned(a[i], m) < 0)) {
+                result[n++] = a[i++];
+            } else {
+                if (i < a.length && a[i] == m)
+                    i++;
+                result[n++] = m;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /* @return sorted minterms not covered by cubes[from, to), all of them agreeing with the minterms on the positions above free */
+    private static long[] uncovered(ArrayList<long[]> cubes, int from, int to, long[] minterms, int free) {
+        ArrayList<long[]> list = new ArrayList<>(cubes.subList(from, to));
+        return uncovered(list, minterms, free);
+    }
+
+    /* @return sorted minterms not covered by the cubes, splitting both on one free position after another */
+    private static long[] uncovered(ArrayList<long[]> cubes, long[] minterms, int free) {
+        if (cubes.isEmpty() || minterms.length == 0)
+            return minterms;
+        long low = free >= 64 ? -1L : (1L << free) - 1;
+        for (int i = 0; i < cubes.size(); i++) {
+            if ((cubes.get(i)[1] & low) == low)
+                return new long[0];
+        }
+
+        long bit = 1L << (free - 1);
+        ArrayList<long[]> zero = new ArrayList<>();
+        ArrayList<long[]> one = new ArrayList<>();
+        for (int i = 0; i < cubes.size(); i++) {
+            long[] d = cubes.get(i);
+            if ((d[1] & bit) != 0 || (d[0] & bit) == 0)
+                zero.add(d);
+            if ((d[1] & bit) != 0 || (d[0] & bit) != 0)
+                one.add(d);
+        }
+        int s = split(minterms, bit);
+        long[] a = uncovered(zero, Arrays.copyOfRange(minterms, 0, s), free - 1);
+        long[] b = uncovered(one, Arrays.copyOfRange(minterms, s, minterms.length), free - 1);
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /* @return positions where both cubes have a literal and the literals differ */
+    private static long conflict(long value, long mask, long otherValue, long otherMask) {
+        return (value ^ otherValue) & ~mask & ~otherMask;
+    }
+
+    /* @return true if the first cube contains the second */
+    private static boolean contains(long value, long mask, long otherValue, long otherMask) {
+        return (otherMask & ~mask) == 0 && ((value ^ otherValue) & ~mask) == 0;
+    }
+
+    /* @return cost of a cover, its number of cubes first and its number of literals second */
+    private long cost(ArrayList<long[]> cover) {
+        long literals = 0;
+        for (int i = 0; i < cover.size(); i++)
+            literals += length - Long.bitCount(cover.get(i)[1]);
+        return ((long) cover.size() << 32) + literals;
+    }
+
+    /* @return deep copy of a cover */
+    private static ArrayList<long[]> copy(ArrayList<long[]> cover) {
+        ArrayList<long[]> result = new ArrayList<>();
+        for (int i = 0; i < cover.size(); i++)
+            result.add(cover.get(i).clone());
+        return result;
+    }
+}
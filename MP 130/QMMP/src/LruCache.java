@@ -0,0 +1,93 @@
+/*
+ * File: LruCache.java
+ * --------------------------
+ * This file contains the LruCache class, a bounded map evicting the least recently used
+ * entry, shared by the caches of minimization results.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Entries are kept in access order, so once the cache holds more than its capacity the
+ * eldest entry is the one to drop. Every lookup is counted as a hit or a miss. All
+ * methods are synchronized, so one cache can serve several solving threads.
+ */
+
+import java.util.*;
+
+// definition of the LruCache class.
+class LruCache<K, V> {
+
+    /* name the cache is printed under */
+    private final String name;
+
+    /* most entries kept */
+    private final int capacity;
+
+    /* entries in access order, the eldest one being the least recently used */
+    private final LinkedHashMap<K, V> entries;
+
+    /* number of lookups that found and did not find an entry */
+    private long hits;
+    private long misses;
+
+    /* constructor for a cache holding at most capacity entries, throws IllegalArgumentException if capacity is not positive */
+    LruCache(String name, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        this.name = name;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    /* @return entry of the key, or null, counting the lookup as a hit or a miss */
+    synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null)
+            misses++;
+        else
+            hits++;
+        return value;
+    }
+
+    /* stores an entry, evicting the least recently used one when full */
+    synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /* @return number of lookups that found an entry */
+    synchronized long getHits() {
+        return hits;
+    }
+
+    /* @return number of lookups that found none */
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    /* @return number of entries held */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /* @return most entries held */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /* removes every entry and resets the counters */
+    synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return name + "[size=" + entries.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses + "]";
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * File: MinimizationResult.java
+ * --------------------------
+ * This file contains the MinimizationResult class, the outcome of minimizing one
+ * function as plain terms.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Holds the prime implicants found, the essential prime implicants among them and the
+ * minimal covers chosen, each cover being a list of terms. The lists are copied on
+ * construction and cannot be modified, so a result can be shared freely between threads.
+ */
+
+import java.util.*;
+
+// definition of the MinimizationResult class.
+public final class MinimizationResult {
+
+    /* number of variables of the function */
+    private final int variableCount;
+
+    /* every prime implicant of the function */
+    private final List<Term> primeImplicants;
+
+    /* prime implicants that are the only ones covering some minterm */
+    private final List<Term> essentialPrimeImplicants;
+
+    /* minimal covers of the function */
+    private final List<List<Term>> covers;
+
+    /* constructor for a result, copying the given lists */
+    MinimizationResult(int variableCount, List<Term> primeImplicants, List<Term> essentialPrimeImplicants, List<? extends List<Term>> covers) {
+        this.variableCount = variableCount;
+        this.primeImplicants = List.copyOf(primeImplicants);
+        this.essentialPrimeImplicants = List.copyOf(essentialPrimeImplicants);
+        List<List<Term>> c = new ArrayList<>();
+        for (int i = 0; i < covers.size(); i++)
+            c.add(List.copyOf(covers.get(i)));
+        this.covers = Collections.unmodifiableList(c);
+    }
+
+    /* @return number of variables of the function */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /* @return every prime implicant, empty when the heuristic solver was used */
+    public List<Term> getPrimeImplicants() {
+        return primeImplicants;
+    }
+
+    /* @return the essential prime implicants, empty when the heuristic solver was used */
+    public List<Term> getEssentialPrimeImplicants() {
+        return essentialPrimeImplicants;
+    }
+
+    /* @return every minimal cover with Petrick's method, a single one with the other solvers */
+    public List<List<Term>> getCovers() {
+        return covers;
+    }
+
+    @Override
+    public String toString() {
+        return "MinimizationResult[variables=" + variableCount + ", primes=" + primeImplicants
+                + ", essentials=" + essentialPrimeImplicants + ", covers=" + covers + "]";
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * File: MintermFormatException.java
+ * --------------------------
+ * This file contains the MintermFormatException class, thrown when a minterm list
+ * cannot be parsed.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Besides the reason, the exception carries the offset of the character where the
+ * problem was found, so the input can be pointed at. The message gives the same place
+ * as a position counted from 1.
+ */
+
+// definition of the MintermFormatException class.
+public class MintermFormatException extends IllegalArgumentException {
+
+    /* version of the serialized form */
+    private static final long serialVersionUID = 1L;
+
+    /* offset of the offending character in the input, counted from 0 */
+    private final int offset;
+
+    /* constructor for a problem found at the given offset */
+    public MintermFormatException(String reason, int offset) {
+        super(reason + " at position " + (offset + 1));
+        this.offset = offset;
+    }
+
+    /* @return offset of the offending character in the input, counted from 0 */
+    public int getOffset() {
+        return offset;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * File: MintermParser.java
+ * --------------------------
+ * This file contains the MintermParser class, which reads a minterm list in a single
+ * pass, character by character.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Minterms are unsigned decimal numbers of up to 64 bits separated by spaces and/or
+ * commas. A range "a-b", spaces around the '-' allowed, stands for every minterm from a
+ * to b. Numbers are accumulated digit by digit without building strings, and the input
+ * may come from a CharSequence or be streamed from a Reader.
+ *
+ * Duplicates are found as they are read: minterms below 2^24 are marked in a bit set,
+ * and larger ones are kept as disjoint intervals in a sorted map, adjacent intervals
+ * being joined. A range is checked and marked as a whole either way, so its size costs
+ * nothing but the minterms returned. Any problem is thrown as a MintermFormatException
+ * giving its position.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+// definition of the MintermParser class.
+public final class MintermParser {
+
+    /* minterms below this bound are checked for duplicates in the bit set */
+    private static final int DENSE_LIMIT = 1 << 24;
+
+    /* most minterms a list may hold, the largest array size */
+    private static final int MAX_COUNT = Integer.MAX_VALUE - 8;
+
+    /* largest value that can take one more digit without overflowing 64 bits */
+    private static final long LAST_SAFE = 0x1999999999999999L;
+
+    /* states of the parser between two characters */
+    private static final int BETWEEN = 0;     // before a minterm
+    private static final int NUMBER = 1;      // inside a minterm or the start of a range
+    private static final int AFTER = 2;       // in spaces after a minterm, a '-' may still follow
+    private static final int DASH = 3;        // after the '-' of a range
+    private static final int UPPER = 4;       // inside the end of a range
+
+    /* minterms read so far */
+    private long[] minterms = new long[16];
+    private int count;
+
+    /* small minterms read so far, and the large ones as intervals from each start to its end, both unsigned */
+    private final BitSet dense = new BitSet();
+    private TreeMap<Long, Long> sparse;
+
+    /* current state, the number being read and where it started, and the start of a range */
+    private int state = BETWEEN;
+    private long value;
+    private int start;
+    private long low;
+    private int lowStart;
+
+    /* constructor for a parser at the start of its input */
+    private MintermParser() {
+    }
+
+    /* @return distinct minterms of the list in the order given, throws MintermFormatException on invalid input */
+    public static long[] parse(CharSequence s) {
+        MintermParser p = new MintermParser();
+        for (int i = 0; i < s.length(); i++)
+            p.accept(s.charAt(i), i);
+        return p.finish(s.length());
+    }
+
+    /* @return distinct minterms of the list read to its end in the order given, throws MintermFormatException on invalid input */
+    public static long[] parse(Reader in) throws IOException {
+        MintermParser p = new MintermParser();
+        char[] buffer = new char[8192];
+        int offset = 0;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            for (int i = 0; i < n; i++)
+                p.accept(buffer[i], offset++);
+        }
+        return p.finish(offset);
+    }
+
+    /* moves the parser on by one character found at the given offset */
+    private void accept(char c, int offset) {
+        boolean digit = c >= '0' && c <= '9';
+        boolean space = c == ',' || Character.isWhitespace(c);
+        if (!digit && !space && c != '-')
+            throw new MintermFormatException("Invalid character '" + c + "'", offset);
+
+        switch (state) {
+            case BETWEEN:
+                if (digit)
+                    begin(c, offset, NUMBER);
+                else if (c == '-')
+                    throw new MintermFormatException("Range without a start", offset);
+                break;
+            case NUMBER:
+                if (digit) {
+                    append(c);
+                } else if (c == '-') {
+                    beginRange();
+                } else if (c == ',') {
+                    add(value, start);
+                    state = BETWEEN;
+                } else {
+                    state = AFTER;
+                }
+                break;
+            case AFTER:
+                if (c == '-') {
+                    beginRange();
+                } else if (c == ',') {
+                    add(value, start);
+                    state = BETWEEN;
+                } else if (digit) {
+                    add(value, start);
+                    begin(c, offset, NUMBER);
+                }
+                break;
+            case DASH:
+                if (digit)
+                    begin(c, offset, UPPER);
+                else if (c == ',' || c == '-')
+                    throw new MintermFormatException("Range without an end", offset);
+                break;
+            default:
+                if (digit) {
+                    append(c);
+                } else if (c == '-') {
+                    throw new MintermFormatException("Range with more than one '-'", offset);
+                } else {
+                    addRange(low, value, lowStart);
+                    state = BETWEEN;
+                }
+                break;
+        }
+    }
+
+    /* @return the minterms once the input has ended at the given offset */
+    private long[] finish(int end) {
+        if (state == NUMBER || state == AFTER)
+            add(value, start);
+        else if (state == UPPER)
+            addRange(low, value, lowStart);
+        else if (state == DASH)
+            throw new MintermFormatException("Range without an end", end);
+        return count == minterms.length ? minterms : Arrays.copyOf(minterms, count);
+    }
+
+    /* starts a number with its first digit */
+    private void begin(char c, int offset, int next) {
+        value = c - '0';
+        start = offset;
+        state = next;
+    }
+
+    /* adds a digit to the number being read, throws MintermFormatException if it no longer fits in 64 bits */
+    private void append(char c) {
+        int d = c - '0';
+        if (Long.compareUnsigned(value, LAST_SAFE) > 0 || (value == LAST_SAFE && d > 5))
+            throw new MintermFormatException("Minterm needs more than 64 variables", start);
+        value = value * 10 + d;
+    }
+
+    /* takes the number read as the start of a range */
+    private void beginRange() {
+        low = value;
+        lowStart = start;
+        state = DASH;
+    }
+
+    /* adds one minterm read at the given offset, throws MintermFormatException if it was read before */
+    private void add(long m, int offset) {
+        if (count == MAX_COUNT)
+            throw new MintermFormatException("Too many minterms", offset);
+        if (Long.compareUnsigned(m, DENSE_LIMIT) < 0) {
+            if (dense.get((int) m))
+                throw new MintermFormatException("Duplicate minterm " + m, offset);
+            dense.set((int) m);
+        } else {
+            addInterval(m, m, offset);
+        }
+        if (count == minterms.length)
+            minterms = Arrays.copyOf(minterms, (int) Math.min((long) count * 2, MAX_COUNT));
+        minterms[count++] = m;
+    }
+
+    /* adds every minterm from a to b read at the given offset, throws MintermFormatException if the range is empty, too large or meets a minterm read before */
+    private void addRange(long a, long b, int offset) {
+        if (Long.compareUnsigned(a, b) > 0)
+            throw new MintermFormatException("Range " + Long.toUnsignedString(a) + "-" + Long.toUnsignedString(b) + " is empty", offset);
+        if (Long.compareUnsigned(b - a, MAX_COUNT - count) >= 0)
+            throw new MintermFormatException("Too many minterms", offset);
+
+        // check and mark the part below the bound of the bit set at once
+        if (Long.compareUnsigned(a, DENSE_LIMIT) < 0) {
+            int to = Long.compareUnsigned(b, DENSE_LIMIT) < 0 ? (int) b + 1 : DENSE_LIMIT;
+            int seen = dense.nextSetBit((int) a);
+            if (seen >= 0 && seen < to)
+                throw new MintermFormatException("Duplicate minterm " + seen, offset);
+            dense.set((int) a, to);
+
+            int size = count + (to - (int) a);
+            if (size > minterms.length)
+                minterms = Arrays.copyOf(minterms, (int) Math.min(Math.max((long) minterms.length * 2, size), MAX_COUNT));
+            for (int m = (int) a; m < to; m++)
+                minterms[count++] = m;
+            if (Long.compareUnsigned(b, DENSE_LIMIT) < 0)
+                return;
+            a = DENSE_LIMIT;
+        }
+
+        // the rest is checked and marked as one interval
+        addInterval(a, b, offset);
+        long size = b - a + 1;
+        if (count + size > minterms.length)
+            minterms = Arrays.copyOf(minterms, (int) Math.min(Math.max((long) minterms.length * 2, count + size), MAX_COUNT));
+        for (long m = a; ; m++) {
+            minterms[count++] = m;
+            if (m == b)
+                break;
+        }
+    }
+
+    /* marks the minterms from a to b, at least DENSE_LIMIT, as read, throws MintermFormatException if one of them was read before */
+    private void addInterval(long a, long b, int offset) {
+        if (sparse == null)
+            sparse = new TreeMap<>(Long::compareUnsigned);
+
+        // an interval starting at or before a overlaps when it reaches a, one starting after a when it starts by b
+        Map.Entry<Long, Long> before = sparse.floorEntry(a);
+        if (before != null && Long.compareUnsigned(before.getValue(), a) >= 0)
+            throw new MintermFormatException("Duplicate minterm " + Long.toUnsignedString(a), offset);
+        Map.Entry<Long, Long> after = sparse.higherEntry(a);
+        if (after != null && Long.compareUnsigned(after.getKey(), b) <= 0)
+            throw new MintermFormatException("Duplicate minterm " + Long.toUnsignedString(after.getKey()), offset);
+
+        // join the intervals ending right before a and starting right after b
+        long start = a;
+        long end = b;
+        if (before != null && before.getValue() == a - 1) {
+            start = before.getKey();
+            sparse.remove(start);
+        }
+        if (after != null && b != -1L && after.getKey() == b + 1) {
+            end = after.getValue();
+            sparse.remove(after.getKey());
+        }
+        sparse.put(start, end);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * File: MultiOutputMethod.java
+ * --------------------------
+ * This file contains the MultiOutputMethod class, which minimizes several functions of
+ * the same inputs together so that product terms can be shared between them.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Each cube carries a tag with a bit per output whose on-set holds every minterm of the
+ * cube. A single tabulation combines two adjacent cubes whenever their tags intersect,
+ * the new cube getting the intersection. A cube is checked only when it was combined
+ * into a cube with the same tag, so the cubes left unchecked are the prime implicants of
+ * every product of outputs.
+ *
+ * The chart has a column per minterm of each output and a row per prime, a row covering
+ * the minterms of the outputs in its tag. A minimum cover of the chart uses the fewest
+ * distinct product terms, each one counted once however many outputs share it. Every
+ * output then takes the chosen products of its tag, dropping those it does not need.
+ */
+
+import java.util.*;
+
+// definition of the MultiOutputMethod class.
+public class MultiOutputMethod {
+
+    /* sorted minterms of each output */
+    private final long[][] outputs;
+
+    /* number of variables, at most 64 */
+    private final int maximumLength;
+
+    /* prime implicants found by the tabulation and the outputs each one is an implicant of */
+    private ArrayList<Term> primes;
+    private ArrayList<Long> primeTags;
+
+    /* products chosen for the cover and the products used by each output */
+    private ArrayList<Term> products;
+    private ArrayList<ArrayList<Term>> covers;
+
+    /* constructor for the outputs with the given distinct minterms each, throws IllegalArgumentException if there is no minterm at all or at most 64 outputs */
+    public MultiOutputMethod(long[][] outputs) {
+        if (outputs.length == 0 || outputs.length > 64)
+            throw new IllegalArgumentException("Number of outputs must be between 1 and 64: " + outputs.length);
+
+        this.outputs = new long[outputs.length][];
+        long all = 0;
+        boolean empty = true;
+        for (int o = 0; o < outputs.length; o++) {
+            this.outputs[o] = outputs[o].clone();
+            Arrays.sort(this.outputs[o]);
+            for (int i = 0; i < this.outputs[o].length; i++) {
+                if (i > 0 && this.outputs[o][i] == this.outputs[o][i - 1])
+                    throw new IllegalArgumentException("Duplicates encountered: " + Long.toUnsignedString(this.outputs[o][i]));
+                all |= this.outputs[o][i];
+                empty = false;
+            }
+        }
+        if (empty)
+            throw new IllegalArgumentException("No minterms given.");
+
+        maximumLength = Math.max(1, Long.SIZE - Long.numberOfLeadingZeros(all));
+    }
+
+    /* minimizes every output, throws CancellationException if the thread is interrupted meanwhile */
+    public void solve() {
+        tabulate();
+        cover();
+    }
+
+    /* generates the prime implicants of every product of outputs with one shared tabulation */
+    private void tabulate() {
+        // tag each minterm with the outputs it belongs to
+        HashMap<Term, Long> tags = new HashMap<>();
+        for (int o = 0; o < outputs.length; o++) {
+            for (int i = 0; i < outputs[o].length; i++)
+                tags.merge(new Term(outputs[o][i], maximumLength), 1L << o, (a, b) -> a | b);
+        }
+
+        // group the minterms by their number of ones
+        ArrayList<ArrayList<Term>> list = new ArrayList<>();
+        for (int i = 0; i <= maximumLength; i++)
+            list.add(new ArrayList<>());
+        for (Term t : tags.keySet())
+            list.get(t.getNumOnes()).add(t);
+        for (int i = 0; i < list.size(); i++)
+            list.get(i).sort(Comparator.comparingLong(Term::getValue));
+
+        primes = new ArrayList<>();
+        primeTags = new ArrayList<>();
+        long lengthMask = maximumLength >= 64 ? -1L : (1L << maximumLength) - 1;
+
+        while (!list.isEmpty()) {
+            HashSet<Term> checked = new HashSet<>();
+            HashMap<Term, Long> nextTags = new HashMap<>();
+            ArrayList<ArrayList<Term>> next = new ArrayList<>();
+
+            for (int i = 0; i < list.size() - 1; i++) {
+                ArrayList<Term> combined = new ArrayList<>();
+                next.add(combined);
+                ArrayList<Term> lower = list.get(i);
+                ArrayList<Term> upper = list.get(i + 1);
+
+                // index the upper group by its literals and '-' positions
+                TermIndex index = new TermIndex(upper.size());
+                for (int j = 0; j < upper.size(); j++)
+                    index.add(upper.get(j));
+
+                for (int j = 0; j < lower.size(); j++) {
+                    QuineMcCluskeyMethod.checkCancelled();
+                    Term term = lower.get(j);
+                    long tag = tags.get(term);
+
+                    // a partner has the same '-' positions, one more '1' and some output in common
+                    long zeros = ~term.getValue() & ~term.getMask() & lengthMask;
+                    while (zeros != 0) {
+                        long bit = zeros & -zeros;
+                        zeros &= zeros - 1;
+
+                        Term partner = index.get(term.getValue() | bit, term.getMask());
+                        if (partner == null)
+                            continue;
+                        long partnerTag = tags.get(partner);
+                        long common = tag & partnerTag;
+                        if (common == 0)
+                            continue;
+
+                        // a cube is only covered by the combined one for the outputs they share
+                        if (common == tag)
+                            checked.add(term);
+                        if (common == partnerTag)
+                            checked.add(partner);
+
+                        Term n = new Term(term, partner);
+                        if (nextTags.putIfAbsent(n, common) == null)
+                            combined.add(n);
+                    }
+                }
+            }
+
+            // the cubes not checked in this column are prime
+            for (int i = 0; i < list.size(); i++) {
+                for (int j = 0; j < list.get(i).size(); j++) {
+                    Term t = list.get(i).get(j);
+                    if (!checked.contains(t)) {
+                        primes.add(t);
+                        primeTags.add(tags.get(t));
+                    }
+                }
+            }
+
+            list = next;
+            tags = nextTags;
+        }
+    }
+
+    /* chooses a minimum set of products covering every output, then drops the products an output does not need */
+    private void cover() {
+        // one column per minterm of each output
+        int columnCount = 0;
+        for (int o = 0; o < outputs.length; o++)
+            columnCount += outputs[o].length;
+
+        long[][] rows = new long[primes.size()][Bits.words(columnCount)];
+        for (int r = 0; r < primes.size(); r++) {
+            QuineMcCluskeyMethod.checkCancelled();
+            int c = 0;
+            for (int o = 0; o < outputs.length; o++) {
+                boolean tagged = (primeTags.get(r) & (1L << o)) != 0;
+                for (int i = 0; i < outputs[o].length; i++, c++) {
+                    if (tagged && primes.get(r).covers(outputs[o][i]))
+                        Bits.set(rows[r], c);
+                }
+            }
+        }
+
+        int[] chosen = new CoverSolver(rows, columnCount).solve();
+        Arrays.sort(chosen);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < chosen.length; i++)
+            products.add(primes.get(chosen[i]));
+
+        // each output keeps the chosen products it needs, dropping those whose minterms are covered by the others
+        covers = new ArrayList<>();
+        for (int o = 0; o < outputs.length; o++) {
+            ArrayList<Term> used = new ArrayList<>();
+            for (int i = 0; i < chosen.length; i++) {
+                if ((primeTags.get(chosen[i]) & (1L << o)) != 0)
+                    used.add(primes.get(chosen[i]));
+            }
+            for (int i = used.size() - 1; i >= 0; i--) {
+                Term t = used.remove(i);
+                if (!coversAll(used, t, outputs[o]))
+                    used.add(i, t);
+            }
+            covers.add(used);
+        }
+    }
+
+    /* @return true if every minterm of the term is covered by one of the terms */
+    private static boolean coversAll(ArrayList<Term> terms, Term term, long[] minterms) {
+        for (int i = 0; i < minterms.length; i++) {
+            if (!term.covers(minterms[i]))
+                continue;
+            boolean covered = false;
+            for (int j = 0; j < terms.size() && !covered; j++)
+                covered = terms.get(j).covers(minterms[i]);
+            if (!covered)
+                return false;
+        }
+        return true;
+    }
+
+    /* @return number of variables of the outputs */
+    public int getVariableCount() {
+        return maximumLength;
+    }
+
+    /* @return number of outputs */
+    public int getOutputCount() {
+        return outputs.length;
+    }
+
+    /* @return prime implicants of every product of outputs, read only */
+    public List<Term> getPrimeImplicants() {
+        return Collections.unmodifiableList(primes);
+    }
+
+    /* @return distinct products used by the outputs together, read only */
+    public List<Term> getProducts() {
+        return Collections.unmodifiableList(products);
+    }
+
+    /* @return products used by one output, read only */
+    public List<Term> getCover(int output) {
+        return Collections.unmodifiableList(covers.get(output));
+    }
+
+    /* @return cover of one output as a sum of products in standard form, 0 when the output has no minterms */
+    public String printOutput(int output, String[] variables) {
+        ArrayList<Term> cover = covers.get(output);
+        if (cover.isEmpty())
+            return "0";
+        StringBuilder r = new StringBuilder();
+        for (int j = 0; j < cover.size(); j++) {
+            if (j > 0)
+                r.append(" + ");
+            r.append(QuineMcCluskeyMethod.toStandardForm(cover.get(j).getString(), variables));
+        }
+        return r.toString();
+    }
+
+    /* build a String for the covers of every output to be presented to the user */
+    public String printResults(String[] variables) {
+        StringBuilder r = new StringBuilder();
+        for (int o = 0; o < outputs.length; o++)
+            r.append("F").append(o + 1).append(" = ").append(printOutput(o, variables)).append("\n");
+        r.append("Distinct products: ").append(products.size()).append("\n");
+        return r.toString();
+    }
+}
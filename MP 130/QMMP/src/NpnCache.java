@@ -0,0 +1,306 @@
+/*
+ * File: NpnCache.java
+ * --------------------------
+ * This file contains the NpnCache class, a cache of minimization results shared by all
+ * functions that are equal up to negating and permuting inputs and negating the output.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * A function of at most 6 variables fits its truth table in one long. Its canonical form
+ * is the smallest truth table reached by any input permutation, input negation and output
+ * negation. Permutations are walked by adjacent swaps (Steinhaus-Johnson-Trotter) and the
+ * negations of each permutation in Gray code order, so every step changes the truth table
+ * by a single delta swap. The transform reaching the canonical form is kept to map the
+ * cached cubes back.
+ *
+ * Since the output may have been negated, an entry holds the results of both the
+ * canonical function and its complement. Entries are evicted least recently used first.
+ */
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+// definition of the NpnCache class.
+public class NpnCache {
+
+    /* most variables of a function the cache handles */
+    public static final int MAX_VARIABLES = 6;
+
+    /* truth table bits whose position has a 0 at each variable */
+    private static final long[] ZERO = {
+        0x5555555555555555L, 0x3333333333333333L, 0x0F0F0F0F0F0F0F0FL,
+        0x00FF00FF00FF00FFL, 0x0000FFFF0000FFFFL, 0x00000000FFFFFFFFL
+    };
+
+    /* positions of the adjacent swaps walking every permutation, for each number of variables */
+    private static final int[][] SWAPS = new int[MAX_VARIABLES + 1][];
+
+    static {
+        for (int n = 0; n <= MAX_VARIABLES; n++)
+            SWAPS[n] = plainChanges(n);
+    }
+
+    /* key of an entry, the canonical truth table together with the variable count and solver */
+    private static final class Key {
+
+        private final long table;
+        private final int variableCount;
+        private final String solver;
+
+        Key(long table, int variableCount, String solver) {
+            this.table = table;
+            this.variableCount = variableCount;
+            this.solver = solver;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key))
+                return false;
+            Key k = (Key) o;
+            return table == k.table && variableCount == k.variableCount && solver.equals(k.solver);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(table) + variableCount) + solver.hashCode();
+        }
+    }
+
+    /* results of the canonical function and of its complement */
+    private static final class Entry {
+
+        private final MinimizationResult function;
+        private final MinimizationResult complement;
+
+        Entry(MinimizationResult function, MinimizationResult complement) {
+            this.function = function;
+            this.complement = complement;
+        }
+    }
+
+    /* transform taking a function to its canonical form, x maps to move(x) ^ negation */
+    static final class Transform {
+
+        /* canonical truth table */
+        final long table;
+
+        /* position each variable is moved to, and the positions negated after moving */
+        final int[] move;
+        final long negation;
+
+        /* whether the output is negated */
+        final boolean complemented;
+
+        Transform(long table, int[] move, long negation, boolean complemented) {
+            this.table = table;
+            this.move = move;
+            this.negation = negation;
+            this.complemented = complemented;
+        }
+
+        /* @return the term of the original function mapped to the given term of the canonical one */
+        Term back(Term term) {
+            long value = unmove((term.getValue() ^ negation) & ~term.getMask());
+            long mask = unmove(term.getMask());
+            return new Term(value, mask, term.getLength());
+        }
+
+        /* @return bits moved back to their original positions */
+        private long unmove(long bits) {
+            long r = 0;
+            for (int j = 0; j < move.length; j++) {
+                if ((bits & (1L << move[j])) != 0)
+                    r |= 1L << j;
+            }
+            return r;
+        }
+    }
+
+    /* entries by key, the least recently used evicted first */
+    private final LruCache<Key, Entry> entries;
+
+    /* constructor for a cache holding at most capacity classes, throws IllegalArgumentException if capacity is not positive */
+    public NpnCache(int capacity) {
+        this.entries = new LruCache<>("NpnCache", capacity);
+    }
+
+    /*
+     @return result for the function with the given minterms over variableCount variables, at most MAX_VARIABLES,
+     solving the canonical function and its complement with solve on a miss
+    */
+    MinimizationResult minimize(long[] minterms, int variableCount, String solver,
+                                BiFunction<long[], Integer, MinimizationResult> solve) {
+        long table = 0;
+        for (int i = 0; i < minterms.length; i++)
+            table |= 1L << minterms[i];
+        Transform t = canonical(table, variableCount);
+
+        Key key = new Key(t.table, variableCount, solver);
+        Entry entry = entries.get(key);
+
+        // solve outside the lock, two threads missing the same class at once both solve it
+        if (entry == null) {
+            long full = full(variableCount);
+            entry = new Entry(solveTable(t.table, variableCount, solve), solveTable(~t.table & full, variableCount, solve));
+            entries.put(key, entry);
+        }
+
+        return back(t.complemented ? entry.complement : entry.function, t);
+    }
+
+    /* @return result for the function with the given truth table, the empty function having one empty cover */
+    private static MinimizationResult solveTable(long table, int variableCount,
+                                                 BiFunction<long[], Integer, MinimizationResult> solve) {
+        if (table == 0)
+            return new MinimizationResult(variableCount, List.of(), List.of(), List.of(List.of()));
+
+        long[] minterms = new long[Long.bitCount(table)];
+        int k = 0;
+        for (long t = table; t != 0; t &= t - 1)
+            minterms[k++] = Long.numberOfTrailingZeros(t);
+        return solve.apply(minterms, variableCount);
+    }
+
+    /* @return result of the canonical function mapped back through the transform */
+    private static MinimizationResult back(MinimizationResult result, Transform t) {
+        ArrayList<ArrayList<Term>> covers = new ArrayList<>();
+        for (int i = 0; i < result.getCovers().size(); i++)
+            covers.add(back(result.getCovers().get(i), t));
+        return new MinimizationResult(result.getVariableCount(), back(result.getPrimeImplicants(), t),
+                back(result.getEssentialPrimeImplicants(), t), covers);
+    }
+
+    /* @return terms mapped back through the transform */
+    private static ArrayList<Term> back(List<Term> terms, Transform t) {
+        ArrayList<Term> result = new ArrayList<>();
+        for (int i = 0; i < terms.size(); i++)
+            result.add(t.back(terms.get(i)));
+        return result;
+    }
+
+    /* @return the transform reaching the smallest truth table over every input permutation and negation and output negation */
+    static Transform canonical(long table, int n) {
+        long full = full(n);
+        int[] move = new int[n];
+        for (int j = 0; j < n; j++)
+            move[j] = j;
+        long negation = 0;
+
+        long best = table;
+        int[] bestMove = move.clone();
+        long bestNegation = 0;
+        boolean bestComplemented = false;
+
+        int[] swaps = SWAPS[n];
+        for (int p = 0; ; p++) {
+            // walk the negations of this permutation in Gray code order
+            for (int g = 0; g < 1 << n; g++) {
+                if (g > 0) {
+                    int i = Integer.numberOfTrailingZeros(g);
+                    table = negate(table, i);
+                    negation ^= 1L << i;
+                }
+                long complement = ~table & full;
+                if (Long.compareUnsigned(table, best) < 0 || Long.compareUnsigned(complement, best) < 0) {
+                    bestComplemented = Long.compareUnsigned(complement, table) < 0;
+                    best = bestComplemented ? complement : table;
+                    bestMove = move.clone();
+                    bestNegation = negation;
+                }
+            }
+            if (p == swaps.length)
+                break;
+
+            // swap two adjacent variables, carrying the negations along
+            int i = swaps[p];
+            table = swap(table, i);
+            for (int j = 0; j < n; j++) {
+                if (move[j] == i)
+                    move[j] = i + 1;
+                else if (move[j] == i + 1)
+                    move[j] = i;
+            }
+            long a = (negation >>> i) & 1;
+            long b = (negation >>> (i + 1)) & 1;
+            negation = (negation & ~(3L << i)) | (a << (i + 1)) | (b << i);
+        }
+        return new Transform(best, bestMove, bestNegation, bestComplemented);
+    }
+
+    /* @return truth table with variable i negated */
+    private static long negate(long table, int i) {
+        int s = 1 << i;
+        return ((table & ZERO[i]) << s) | ((table >>> s) & ZERO[i]);
+    }
+
+    /* @return truth table with variables i and i + 1 swapped */
+    private static long swap(long table, int i) {
+        int s = 1 << i;
+        long d = ~ZERO[i] & ZERO[i + 1];
+        return (table & ~(d | (d << s))) | ((table & d) << s) | ((table >>> s) & d);
+    }
+
+    /* @return truth table with every minterm of n variables set */
+    private static long full(int n) {
+        return n == MAX_VARIABLES ? -1L : (1L << (1 << n)) - 1;
+    }
+
+    /* @return positions i of the n! - 1 adjacent swaps (i, i + 1) walking every permutation of n elements */
+    private static int[] plainChanges(int n) {
+        int count = 1;
+        for (int k = 2; k <= n; k++)
+            count *= k;
+        int[] swaps = new int[Math.max(0, count - 1)];
+
+        // Steinhaus-Johnson-Trotter, every element starting to move left
+        int[] perm = new int[n];
+        int[] dir = new int[n];
+        for (int k = 0; k < n; k++) {
+            perm[k] = k;
+            dir[k] = -1;
+        }
+        for (int s = 0; s < swaps.length; s++) {
+            // find the largest element whose neighbour in its direction is smaller
+            int mobile = -1;
+            for (int k = 0; k < n; k++) {
+                int next = k + dir[perm[k]];
+                if (next >= 0 && next < n && perm[next] < perm[k] && (mobile == -1 || perm[k] > perm[mobile]))
+                    mobile = k;
+            }
+            int next = mobile + dir[perm[mobile]];
+            int e = perm[mobile];
+            perm[mobile] = perm[next];
+            perm[next] = e;
+            swaps[s] = Math.min(mobile, next);
+
+            // reverse every element larger than the one moved
+            for (int k = 0; k < n; k++) {
+                if (perm[k] > e)
+                    dir[perm[k]] = -dir[perm[k]];
+            }
+        }
+        return swaps;
+    }
+
+    /* @return number of lookups answered from the cache */
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    /* @return number of lookups that had to be solved */
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    /* @return number of classes held */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return entries.toString();
+    }
+}
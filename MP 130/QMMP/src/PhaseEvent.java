@@ -0,0 +1,37 @@
+/*
+ * File: PhaseEvent.java
+ * --------------------------
+ * This file contains the PhaseEvent class, the flight recorder event of one solver phase.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Its duration is the wall time of the phase. Recording it costs nothing unless a
+ * recording with the event enabled is running, e.g. -XX:StartFlightRecording.
+ */
+
+import jdk.jfr.*;
+
+// definition of the PhaseEvent class.
+@Name("qmmp.Phase")
+@Label("Solver Phase")
+@Category("Quine-McCluskey")
+@Description("One phase of minimizing a function")
+class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Variables")
+    int variables;
+
+    @Label("Minterms")
+    int minterms;
+
+    @Label("Cubes")
+    int cubes;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
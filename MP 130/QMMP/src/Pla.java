@@ -0,0 +1,477 @@
+/*
+ * File: Pla.java
+ * --------------------------
+ * This file contains the Pla class, which reads and writes the covers of several
+ * functions of the same inputs in the Berkeley PLA format.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * A PLA file gives the number of inputs and outputs with ".i" and ".o", optionally their
+ * names with ".ilb" and ".ob", followed by one row per cube: a '0', '1' or '-' for each
+ * input, the first input being the most significant position, then a symbol for each
+ * output. A cube belongs to the outputs marked '1' (or '4'). Other output symbols add
+ * nothing, so don't care cubes are dropped. Lines starting with '#' are comments and
+ * ".e" ends the file.
+ *
+ * The reader maps the file read only and parses the cube rows byte by byte straight into
+ * terms, so no String is built for them. The writer puts a cube used by several outputs
+ * on a single row.
+ *
+ * An output of at most EXACT_CUBES cubes is solved exactly, its prime implicants coming from
+ * the decision diagram of its cubes and its chart having cube columns. The prime
+ * implicants and the covering grow far faster than the cubes, so a larger output goes to
+ * the heuristic solver, which improves its cubes in place. Neither lists any minterm.
+ *
+ * Usage to minimize every output of a file: java -cp QMMP.jar Pla [--exact | --heuristic] input.pla [output.pla]
+ */
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// definition of the Pla class.
+public final class Pla {
+
+    /* most cubes of an output that main solves exactly unless told otherwise */
+    static final int EXACT_CUBES = 16;
+
+    /* number of inputs, at most 64 */
+    private final int inputCount;
+
+    /* names of the inputs and outputs, null when the file gives none */
+    private final String[] inputLabels;
+    private final String[] outputLabels;
+
+    /* cubes of each output */
+    private final ArrayList<ArrayList<Term>> covers;
+
+    /* constructor for the covers of several outputs over inputCount inputs, with labels that may be null, throws IllegalArgumentException on invalid sizes */
+    public Pla(int inputCount, String[] inputLabels, String[] outputLabels, List<? extends List<Term>> covers) {
+        if (inputCount < 1 || inputCount > 64)
+            throw new IllegalArgumentException("Number of inputs must be between 1 and 64: " + inputCount);
+        if (covers.isEmpty())
+            throw new IllegalArgumentException("No outputs given.");
+        if (inputLabels != null && inputLabels.length != inputCount)
+            throw new IllegalArgumentException("Expected " + inputCount + " input labels: " + inputLabels.length);
+        if (outputLabels != null && outputLabels.length != covers.size())
+            throw new IllegalArgumentException("Expected " + covers.size() + " output labels: " + outputLabels.length);
+
+        this.inputCount = inputCount;
+        this.inputLabels = inputLabels == null ? null : inputLabels.clone();
+        this.outputLabels = outputLabels == null ? null : outputLabels.clone();
+        this.covers = new ArrayList<>();
+        for (int o = 0; o < covers.size(); o++)
+            this.covers.add(new ArrayList<>(covers.get(o)));
+    }
+
+    /* @return the covers of a PLA file, mapped read only, throws IOException if it cannot be read or is not a valid PLA */
+    public static Pla read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("PLA file too large: " + file);
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new Parser(bytes, file).read();
+        }
+    }
+
+    /* parser of the bytes of one PLA file */
+    private static final class Parser {
+
+        private final MappedByteBuffer bytes;
+        private final Path file;
+        private final int end;
+
+        /* room a row of the usual shape is given in the window before it is read from there */
+        private static final int ROW_BYTES = 1024;
+
+        /* bytes from windowStart to windowEnd copied out of the mapping, read much faster than one byte at a time from it */
+        private final byte[] window = new byte[1 << 16];
+        private int windowStart;
+        private int windowEnd;
+
+        /* position of the next byte and number of the current line */
+        private int pos;
+        private int line = 1;
+
+        /* sizes and labels given so far */
+        private int inputs = -1;
+        private int outputs = -1;
+        private String[] inputLabels;
+        private String[] outputLabels;
+
+        /* cubes of each output, made once the sizes are known */
+        private ArrayList<ArrayList<Term>> covers;
+
+        Parser(MappedByteBuffer bytes, Path file) {
+            this.bytes = bytes;
+            this.file = file;
+            this.end = bytes.limit();
+        }
+
+        /* @return the covers read up to the end of the file or to ".e" */
+        Pla read() throws IOException {
+            while (pos < end) {
+                skipBlanks();
+                if (pos == end)
+                    break;
+                byte b = at(pos);
+                if (b == '\n') {
+                    pos++;
+                    line++;
+                } else if (b == '#') {
+                    skipLine();
+                } else if (b == '.') {
+                    if (!directive())
+                        break;
+                } else {
+                    cube();
+                }
+            }
+            if (inputs < 0)
+                throw error("missing .i");
+            start();
+            return new Pla(inputs, inputLabels, outputLabels, covers);
+        }
+
+        /* reads one directive line, @return false if it ends the file */
+        private boolean directive() throws IOException {
+            String name = word();
+            switch (name) {
+                case ".i":
+                    inputs = number(1, 64);
+                    break;
+                case ".o":
+                    outputs = number(1, 64);
+                    break;
+                case ".ilb":
+                    inputLabels = words();
+                    break;
+                case ".ob":
+                    outputLabels = words();
+                    break;
+                case ".e":
+                case ".end":
+                    return false;
+                default:
+                    // .p, .type and the other directives do not change the on-sets
+                    break;
+            }
+            skipLine();
+            return true;
+        }
+
+        /* reads one cube row, adding the cube to every output marked '1' */
+        private void cube() throws IOException {
+            start();
+            if (plainCube())
+                return;
+
+            // rows of any other shape go symbol by symbol, which also finds what is wrong with them
+            long value = 0;
+            long mask = 0;
+            for (int k = 0; k < inputs; k++) {
+                long bit = 1L << (inputs - 1 - k);
+                switch (symbol()) {
+                    case '1':
+                        value |= bit;
+                        break;
+                    case '-':
+                    case '2':
+                        mask |= bit;
+                        break;
+                    case '0':
+                        break;
+                    default:
+                        throw error("invalid input symbol");
+                }
+            }
+
+            Term cube = null;
+            for (int o = 0; o < covers.size(); o++) {
+                byte b = symbol();
+                if (b == '1' || b == '4') {
+                    if (cube == null)
+                        cube = new Term(value, mask, inputs);
+                    covers.get(o).add(cube);
+                } else if (b != '0' && b != '-' && b != '2' && b != '3' && b != '~') {
+                    throw error("invalid output symbol");
+                }
+            }
+            skipBlanks();
+            if (pos < end && at(pos) != '\n' && at(pos) != '#')
+                throw error("too many symbols");
+        }
+
+        /* reads a row of the usual shape, with no blanks inside the inputs or the outputs, straight from the window, @return false leaving the position as it was for any other row */
+        private boolean plainCube() {
+            if (pos + ROW_BYTES > windowEnd && windowEnd < end)
+                fill(pos);
+            byte[] w = window;
+            int i = pos - windowStart;
+            int limit = windowEnd - windowStart;
+            int outputCount = covers.size();
+            if (i + inputs + 1 + outputCount > limit)
+                return false;
+
+            long value = 0;
+            long mask = 0;
+            for (int k = inputs - 1; k >= 0; k--) {
+                byte c = w[i++];
+                if (c == '1')
+                    value |= 1L << k;
+                else if (c == '-')
+                    mask |= 1L << k;
+                else if (c != '0')
+                    return false;
+            }
+            while (i < limit && (w[i] == ' ' || w[i] == '\t' || w[i] == '|'))
+                i++;
+            if (i + outputCount > limit)
+                return false;
+
+            // check the outputs and the end of the row before adding anything
+            int outputStart = i;
+            for (int o = 0; o < outputCount; o++) {
+                byte c = w[i++];
+                if (c != '0' && c != '1' && c != '-')
+                    return false;
+            }
+            while (i < limit && (w[i] == ' ' || w[i] == '\t' || w[i] == '\r'))
+                i++;
+            if (i < limit ? w[i] != '\n' : windowEnd != end)
+                return false;
+
+            Term cube = null;
+            for (int o = 0; o < outputCount; o++) {
+                if (w[outputStart + o] == '1') {
+                    if (cube == null)
+                        cube = new Term(value, mask, inputs);
+                    covers.get(o).add(cube);
+                }
+            }
+            pos = windowStart + i;
+            return true;
+        }
+
+        /* makes the covers once the first cube or the end is reached, a single output by default */
+        private void start() throws IOException {
+            if (covers != null)
+                return;
+            if (inputs < 0)
+                throw error("cube before .i");
+            if (outputs < 0)
+                outputs = outputLabels == null ? 1 : outputLabels.length;
+            if (inputLabels != null && inputLabels.length != inputs)
+                throw error(".ilb does not name " + inputs + " inputs");
+            if (outputLabels != null && outputLabels.length != outputs)
+                throw error(".ob does not name " + outputs + " outputs");
+            covers = new ArrayList<>();
+            for (int o = 0; o < outputs; o++)
+                covers.add(new ArrayList<>());
+        }
+
+        /* @return next symbol of a row, skipping blanks and '|' between the parts */
+        private byte symbol() throws IOException {
+            while (pos < end) {
+                byte b = at(pos);
+                if (b != ' ' && b != '\t' && b != '|' && b != '\r')
+                    break;
+                pos++;
+            }
+            if (pos == end || at(pos) == '\n')
+                throw error("row too short");
+            return at(pos++);
+        }
+
+        /* @return number read after the directive, throws IOException if it is outside [min, max] */
+        private int number(int min, int max) throws IOException {
+            String w = word();
+            if (!w.matches("\\d{1,9}") || Integer.parseInt(w) < min || Integer.parseInt(w) > max)
+                throw error("expected a number between " + min + " and " + max);
+            return Integer.parseInt(w);
+        }
+
+        /* @return every word left on the line */
+        private String[] words() {
+            ArrayList<String> r = new ArrayList<>();
+            for (String w = word(); !w.isEmpty(); w = word())
+                r.add(w);
+            return r.toArray(new String[0]);
+        }
+
+        /* @return next word on the line, empty at its end */
+        private String word() {
+            skipBlanks();
+            int from = pos;
+            while (pos < end && at(pos) > ' ')
+                pos++;
+            byte[] b = new byte[pos - from];
+            for (int i = 0; i < b.length; i++)
+                b[i] = at(from + i);
+            return new String(b, StandardCharsets.US_ASCII);
+        }
+
+        /* @return byte at a position before the end, moving the window when it lies outside */
+        private byte at(int p) {
+            if (p < windowStart || p >= windowEnd)
+                fill(p);
+            return window[p - windowStart];
+        }
+
+        /* moves the window to start at a position before the end */
+        private void fill(int p) {
+            windowStart = p;
+            windowEnd = p + Math.min(window.length, end - p);
+            bytes.get(p, window, 0, windowEnd - p);
+        }
+
+        /* moves past spaces, tabs and carriage returns */
+        private void skipBlanks() {
+            while (pos < end) {
+                byte b = at(pos);
+                if (b != ' ' && b != '\t' && b != '\r')
+                    break;
+                pos++;
+            }
+        }
+
+        /* moves to the start of the next line */
+        private void skipLine() {
+            while (pos < end && at(pos) != '\n')
+                pos++;
+            if (pos < end) {
+                pos++;
+                line++;
+            }
+        }
+
+        /* @return exception naming the file and line of a format problem */
+        private IOException error(String reason) {
+            return new IOException("Invalid PLA " + file + " at line " + line + ": " + reason);
+        }
+    }
+
+    /* writes the covers as a PLA file, throws IOException if it cannot be written */
+    public void write(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    /* writes the covers in the PLA format, one row per distinct cube marking every output using it, leaving the stream open */
+    public void write(OutputStream stream) throws IOException {
+        // one row per distinct cube, in the order of first use
+        LinkedHashMap<Term, byte[]> rows = new LinkedHashMap<>();
+        for (int o = 0; o < covers.size(); o++) {
+            for (int i = 0; i < covers.get(o).size(); i++) {
+                byte[] marks = rows.computeIfAbsent(covers.get(o).get(i), t -> {
+                    byte[] m = new byte[covers.size()];
+                    Arrays.fill(m, (byte) '0');
+                    return m;
+                });
+                marks[o] = '1';
+            }
+        }
+
+        BufferedOutputStream out = new BufferedOutputStream(stream);
+        StringBuilder header = new StringBuilder();
+        header.append(".i ").append(inputCount).append('\n');
+        header.append(".o ").append(covers.size()).append('\n');
+        if (inputLabels != null)
+            header.append(".ilb ").append(String.join(" ", inputLabels)).append('\n');
+        if (outputLabels != null)
+            header.append(".ob ").append(String.join(" ", outputLabels)).append('\n');
+        header.append(".p ").append(rows.size()).append('\n');
+        out.write(header.toString().getBytes(StandardCharsets.US_ASCII));
+
+        byte[] row = new byte[inputCount + 1 + covers.size() + 1];
+        row[inputCount] = ' ';
+        row[row.length - 1] = '\n';
+        for (Map.Entry<Term, byte[]> e : rows.entrySet()) {
+            Term t = e.getKey();
+            for (int k = 0; k < inputCount; k++) {
+                long bit = 1L << (inputCount - 1 - k);
+                row[k] = (byte) ((t.getMask() & bit) != 0 ? '-' : (t.getValue() & bit) != 0 ? '1' : '0');
+            }
+            System.arraycopy(e.getValue(), 0, row, inputCount + 1, covers.size());
+            out.write(row);
+        }
+        out.write(".e\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    /* @return number of inputs */
+    public int getInputCount() {
+        return inputCount;
+    }
+
+    /* @return number of outputs */
+    public int getOutputCount() {
+        return covers.size();
+    }
+
+    /* @return names of the inputs, null when none were given */
+    public String[] getInputLabels() {
+        return inputLabels == null ? null : inputLabels.clone();
+    }
+
+    /* @return names of the outputs, null when none were given */
+    public String[] getOutputLabels() {
+        return outputLabels == null ? null : outputLabels.clone();
+    }
+
+    /* @return cubes of one output, read only */
+    public List<Term> getCover(int output) {
+        return Collections.unmodifiableList(covers.get(output));
+    }
+
+    /* @return solver for one output taking its cubes as they are, which lists no minterm for either way of solving, throws IllegalArgumentException if the output has none */
+    public QuineMcCluskeyMethod solver(int output) {
+        return new QuineMcCluskeyMethod(covers.get(output).toArray(new Term[0]), inputCount);
+    }
+
+    /* minimizes every output of a PLA file on its own and writes the covers as a PLA file, to standard output when none is given */
+    public static void main(String[] args) throws IOException {
+        // an output is solved exactly when it has few cubes, unless --exact or --heuristic says otherwise
+        int exactCubes = EXACT_CUBES;
+        int first = 0;
+        if (args.length > 0 && args[0].equals("--exact")) {
+            exactCubes = Integer.MAX_VALUE;
+            first = 1;
+        } else if (args.length > 0 && args[0].equals("--heuristic")) {
+            exactCubes = 0;
+            first = 1;
+        }
+        if (args.length - first < 1 || args.length - first > 2) {
+            System.err.println("Usage: Pla [--exact | --heuristic] input.pla [output.pla]");
+            System.exit(2);
+        }
+        Pla in = read(Paths.get(args[first]));
+
+        ArrayList<List<Term>> minimized = new ArrayList<>();
+        for (int o = 0; o < in.getOutputCount(); o++) {
+            if (in.covers.get(o).isEmpty()) {
+                minimized.add(List.of());
+                continue;
+            }
+            QuineMcCluskeyMethod s = in.solver(o);
+            s.setRetainSteps(false);
+            s.setSolutionLimit(1);
+            if (in.covers.get(o).size() <= exactCubes)
+                s.solve();
+            else
+                s.solveHeuristic();
+            minimized.add(s.getResult().getCovers().get(0));
+        }
+
+        Pla out = new Pla(in.inputCount, in.inputLabels, in.outputLabels, minimized);
+        if (args.length - first == 2)
+            out.write(Paths.get(args[first + 1]));
+        else
+            out.write(System.out);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * File: PrimeChart.java
+ * --------------------------
+ * This file contains the PrimeChart class, the prime implicant chart of the second
+ * stage of the Quine-McCluskey method stored as a bit matrix.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Rows are the final terms and columns the minterms still to be covered, or cubes of
+ * them each lying inside or outside every final term, so that a column stands for all
+ * its minterms at once. Each row is
+ * kept as a bit set over the columns and each column as a bit set over the rows, so
+ * essential rows are columns with a single live row and dominance between two rows or
+ * two columns is a word-wise (a & ~b) == 0 test. Rows and columns are removed by
+ * clearing their bit in the live sets, the matrix itself is built once.
+ *
+ * The number of live rows of each column and live columns of each row are updated as
+ * rows and columns are removed, and a column whose count drops to one is queued, so
+ * essential rows are found without scanning the chart again.
+ *
+ * For a function given as cubes, the columns are made by turning the cubes into
+ * disjoint ones and splitting each of those by every final term it partly overlaps.
+ * There are never more of them than minterms, and usually far fewer.
+ */
+
+import java.util.*;
+
+// definition of the PrimeChart class.
+class PrimeChart {
+
+    /* term of each row and minterm or cube of each column */
+    private final Term[] terms;
+    private final Term[] minterms;
+
+    /* columns covered by each row and rows covering each column */
+    private final long[][] rows;
+    private final long[][] columns;
+
+    /* rows and columns not removed yet */
+    private final long[] liveRows;
+    private final long[] liveColumns;
+
+    /* number of live columns of each row, live rows of each column, and live columns in total */
+    private final int[] rowCover;
+    private final int[] columnCover;
+    private int liveColumnCount;
+
+    /* columns that had a single live row when queued */
+    private final ArrayDeque<Integer> single = new ArrayDeque<>();
+
+    /* constructor for the chart of the given final terms over the given minterms or cubes, each inside or outside every term */
+    PrimeChart(ArrayList<Term> terms, List<Term> minterms) {
+        this.terms = terms.toArray(new Term[0]);
+        this.minterms = minterms.toArray(new Term[0]);
+
+        rows = new long[this.terms.length][Bits.words(this.minterms.length)];
+        columns = new long[this.minterms.length][Bits.words(this.terms.length)];
+        for (int r = 0; r < this.terms.length; r++) {
+            QuineMcCluskeyMethod.checkCancelled();
+            for (int c = 0; c < this.minterms.length; c++) {
+                if (this.terms[r].covers(this.minterms[c])) {
+                    Bits.set(rows[r], c);
+                    Bits.set(columns[c], r);
+                }
+            }
+        }
+
+        liveRows = new long[Bits.words(this.terms.length)];
+        for (int r = 0; r < this.terms.length; r++)
+            Bits.set(liveRows, r);
+        liveColumns = new long[Bits.words(this.minterms.length)];
+        for (int c = 0; c < this.minterms.length; c++)
+            Bits.set(liveColumns, c);
+        liveColumnCount = this.minterms.length;
+
+        rowCover = new int[this.terms.length];
+        for (int r = 0; r < this.terms.length; r++)
+            rowCover[r] = Bits.bitCount(rows[r]);
+        columnCover = new int[this.minterms.length];
+        for (int c = 0; c < this.minterms.length; c++) {
+            columnCover[c] = Bits.bitCount(columns[c]);
+            if (columnCover[c] == 1)
+                single.add(c);
+        }
+    }
+
+    /* @return a live row that is the only live row of some live column, -1 if there is none */
+    int essentialRow() {
+        while (!single.isEmpty()) {
+            int c = single.poll();
+            if (Bits.get(liveColumns, c) && columnCover[c] == 1)
+                return Bits.nextSetBit(Bits.and(columns[c], liveRows), 0);
+        }
+        return -1;
+    }
+
+    /* @return terms of the live rows that are the only live row of some live column, in row order */
+    ArrayList<Term> essentialTerms() {
+        long[] essential = new long[liveRows.length];
+        for (int c = Bits.nextSetBit(liveColumns, 0); c >= 0; c = Bits.nextSetBit(liveColumns, c + 1)) {
+            if (columnCover[c] == 1)
+                Bits.set(essential, Bits.nextSetBit(Bits.and(columns[c], liveRows), 0));
+        }
+        ArrayList<Term> result = new ArrayList<>();
+        for (int r = Bits.nextSetBit(essential, 0); r >= 0; r = Bits.nextSetBit(essential, r + 1))
+            result.add(terms[r]);
+        return result;
+    }
+
+    /* takes a row into the solution, removing it and every column it covers */
+    void select(int row) {
+        for (int c = Bits.nextSetBit(rows[row], 0); c >= 0; c = Bits.nextSetBit(rows[row], c + 1)) {
+            if (Bits.get(liveColumns, c))
+                removeColumn(c);
+        }
+        removeRow(row);
+    }
+
+    /* removes a live row, queueing the columns left with a single live row */
+    private void removeRow(int row) {
+        Bits.clear(liveRows, row);
+        for (int c = Bits.nextSetBit(rows[row], 0); c >= 0; c = Bits.nextSetBit(rows[row], c + 1)) {
+            if (Bits.get(liveColumns, c) && --columnCover[c] == 1)
+                single.add(c);
+        }
+    }
+
+    /* removes a live column */
+    private void removeColumn(int column) {
+        Bits.clear(liveColumns, column);
+        liveColumnCount--;
+        for (int r = Bits.nextSetBit(columns[column], 0); r >= 0; r = Bits.nextSetBit(columns[column], r + 1)) {
+            if (Bits.get(liveRows, r))
+                rowCover[r]--;
+        }
+    }
+
+    /* removes every live row whose live columns are strictly contained in those of another live row, @return true if any was removed */
+    boolean removeDominatedRows() {
+        boolean flag = false;
+        for (int i = Bits.nextSetBit(liveRows, 0); i >= 0; i = Bits.nextSetBit(liveRows, i + 1)) {
+            QuineMcCluskeyMethod.checkCancelled();
+            for (int j = Bits.nextSetBit(liveRows, 0); j >= 0; j = Bits.nextSetBit(liveRows, j + 1)) {
+                // only a row covering more columns can strictly contain this one
+                if (rowCover[j] > rowCover[i] && covers(rows[j], rows[i], liveColumns)) {
+                    removeRow(i);
+                    flag = true;
+                    break;
+                }
+            }
+        }
+        return flag;
+    }
+
+    /* removes every live column whose live rows contain those of another live column, @return true if any was removed */
+    boolean removeDominatingColumns() {
+        boolean flag = false;
+        for (int i = Bits.nextSetBit(liveColumns, 0); i >= 0; i = Bits.nextSetBit(liveColumns, i + 1)) {
+            QuineMcCluskeyMethod.checkCancelled();
+            for (int j = Bits.nextSetBit(liveColumns, 0); j >= 0; j = Bits.nextSetBit(liveColumns, j + 1)) {
+                // of two equal columns only the first one is kept
+                if (i != j && (columnCover[j] < columnCover[i] || (columnCover[j] == columnCover[i] && j < i))
+                        && covers(columns[i], columns[j], liveRows)) {
+                    removeColumn(i);
+                    flag = true;
+                    break;
+                }
+            }
+        }
+        return flag;
+    }
+
+    /* @return true if a holds every bit of b within live */
+    private static boolean covers(long[] a, long[] b, long[] live) {
+        for (int w = 0; w < live.length; w++) {
+            if ((b[w] & live[w] & ~a[w]) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /* @return term of a row */
+    Term term(int row) {
+        return terms[row];
+    }
+
+    /* @return number of live columns */
+    int columnCount() {
+        return liveColumnCount;
+    }
+
+    /* @return terms of the live rows in row order */
+    ArrayList<Term> liveTerms() {
+        ArrayList<Term> result = new ArrayList<>();
+        for (int r = Bits.nextSetBit(liveRows, 0); r >= 0; r = Bits.nextSetBit(liveRows, r + 1))
+            result.add(terms[r]);
+        return result;
+    }
+
+    /* @return minterms or cubes of the live columns in column order */
+    ArrayList<Term> liveMinterms() {
+        ArrayList<Term> result = new ArrayList<>();
+        for (int c = Bits.nextSetBit(liveColumns, 0); c >= 0; c = Bits.nextSetBit(liveColumns, c + 1))
+            result.add(minterms[c]);
+        return result;
+    }
+
+    /* @return for each live column the bit set of its live rows, numbered by their position in liveTerms() */
+    ArrayList<long[]> sums() {
+        // number the live rows consecutively
+        int[] position = new int[terms.length];
+        int n = 0;
+        for (int r = Bits.nextSetBit(liveRows, 0); r >= 0; r = Bits.nextSetBit(liveRows, r + 1))
+            position[r] = n++;
+
+        ArrayList<long[]> result = new ArrayList<>();
+        for (int c = Bits.nextSetBit(liveColumns, 0); c >= 0; c = Bits.nextSetBit(liveColumns, c + 1)) {
+            long[] sum = new long[Bits.words(n)];
+            for (int r = Bits.nextSetBit(columns[c], 0); r >= 0; r = Bits.nextSetBit(columns[c], r + 1)) {
+                if (Bits.get(liveRows, r))
+                    Bits.set(sum, position[r]);
+            }
+            result.add(sum);
+        }
+        return result;
+    }
+
+    /* @return disjoint cubes covering the same minterms as the given cubes, each inside or outside every one of the terms */
+    static ArrayList<Term> columns(Term[] cover, ArrayList<Term> terms) {
+        // cut from each cube the ones before it
+        ArrayList<Term> columns = new ArrayList<>();
+        for (int i = 0; i < cover.length; i++) {
+            QuineMcCluskeyMethod.checkCancelled();
+            ArrayList<Term> pieces = new ArrayList<>();
+            pieces.add(cover[i]);
+            for (int j = 0; j < columns.size() && !pieces.isEmpty(); j++) {
+                ArrayList<Term> rest = new ArrayList<>();
+                for (int k = 0; k < pieces.size(); k++)
+                    rest.addAll(sharp(pieces.get(k), columns.get(j)));
+                pieces = rest;
+            }
+            columns.addAll(pieces);
+        }
+
+        // split every column a term partly overlaps into its part inside the term and the parts outside
+        for (int r = 0; r < terms.size(); r++) {
+            QuineMcCluskeyMethod.checkCancelled();
+            Term t = terms.get(r);
+            ArrayList<Term> next = new ArrayList<>(columns.size());
+            for (int c = 0; c < columns.size(); c++) {
+                Term q = columns.get(c);
+                if (disjoint(q, t) || t.covers(q)) {
+                    next.add(q);
+                } else {
+                    next.add(new Term(q.getValue() | t.getValue(), q.getMask() & t.getMask(), q.getLength()));
+                    next.addAll(sharp(q, t));
+                }
+            }
+            columns = next;
+        }
+        return columns;
+    }
+
+    /* @return true if two cubes have no minterm in common, their literals conflicting somewhere */
+    private static boolean disjoint(Term a, Term b) {
+        return ((a.getValue() ^ b.getValue()) & ~a.getMask() & ~b.getMask()) != 0;
+    }
+
+    /* @return disjoint cubes covering the minterms of a that are not in b */
+    private static ArrayList<Term> sharp(Term a, Term b) {
+        ArrayList<Term> result = new ArrayList<>();
+        if (disjoint(a, b)) {
+            result.add(a);
+            return result;
+        }
+
+        // at each literal of b over a '-' of a, split off the half with the other literal and go on in the half with b's
+        long value = a.getValue();
+        long mask = a.getMask();
+        long free = a.getMask() & ~b.getMask();
+        while (free != 0) {
+            long bit = free & -free;
+            free &= free - 1;
+            mask &= ~bit;
+            result.add(new Term(value | (~b.getValue() & bit), mask, a.getLength()));
+            value |= b.getValue() & bit;
+        }
+        return result;
+    }
+}
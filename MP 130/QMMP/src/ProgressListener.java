@@ -0,0 +1,49 @@
+/*
+ * File: ProgressListener.java
+ * --------------------------
+ * This file contains the ProgressListener interface, through which a solver reports
+ * how far it has got.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * The solver calls the listener from the thread running it, so a listener updating a
+ * user interface has to hand the updates over to the event dispatch thread itself.
+ * Every method has an empty default so that a listener only implements what it shows.
+ */
+
+import java.util.*;
+
+// definition of the ProgressListener interface.
+public interface ProgressListener {
+
+    /* stages of solving, in the order they are entered */
+    enum Phase {
+        /* combining terms column by column */
+        TABULATION,
+        /* generating prime implicants by iterated consensus instead of tabulation */
+        CONSENSUS,
+        /* generating prime implicants on a binary decision diagram instead of tabulation */
+        BDD,
+        /* taking essential prime implicants and removing dominated rows and columns */
+        CHART_REDUCTION,
+        /* multiplying out the sums of the remaining chart */
+        PETRICK,
+        /* searching the remaining chart for one minimum cover */
+        BRANCH_AND_BOUND,
+        /* improving a cover heuristically */
+        HEURISTIC
+    }
+
+    /* called when a phase is entered */
+    default void phaseStarted(Phase phase) {
+    }
+
+    /* called as work within a phase is done, done out of an estimated total */
+    default void progress(Phase phase, int done, int total) {
+    }
+
+    /* called with each tabulation column as soon as it is produced, column 0 being the grouped minterms */
+    default void columnTabulated(int column, List<Term>[] groups) {
+    }
+}
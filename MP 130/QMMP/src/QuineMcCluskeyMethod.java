@@ -15,8 +15,12 @@
  * References @ the end
  */
 
+import java.lang.management.ManagementFactory;
 import java.util.*;
-import javax.swing.JOptionPane;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 public class QuineMcCluskeyMethod {
@@ -33,52 +37,210 @@ public class QuineMcCluskeyMethod {
         }
     }
 
-    /* array of terms to store terms necessary for solution */
+    /* methods for choosing a minimum cover of the chart left once no more reductions apply */
+    public enum CoverMethod {
+        /* expand the product of sums, giving every minimum cover */
+        PETRICK,
+        /* branch and bound search with lower bounds, giving one minimum cover */
+        BRANCH_AND_BOUND
+    }
+
+    /* methods for generating the prime implicants fed to the chart */
+    public enum PrimeGenerator {
+        /* combine minterms column by column */
+        TABULATION,
+        /* take the consensus of the given cubes one position after another until they are the prime implicants */
+        CONSENSUS,
+        /* recurse on the cofactors of a binary decision diagram of the function */
+        BDD
+    }
+
+    /* fork-join task combining one pair of adjacent groups into a checked set of its own, stopping once the solving thread is interrupted */
+    private class CombineTask extends RecursiveTask<ArrayList<Term>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Term> lower;
+        private final ArrayList<Term> upper;
+        private final HashSet<Term> checked = new HashSet<>();
+
+        /* thread that forked the task, whose interrupt cancels it on whichever worker it runs */
+        private final Thread owner;
+
+        CombineTask(ArrayList<Term> lower, ArrayList<Term> upper, Thread owner) {
+            this.lower = lower;
+            this.upper = upper;
+            this.owner = owner;
+        }
+
+        @Override
+        protected ArrayList<Term> compute() {
+            return combine(lower, upper, checked, owner);
+        }
+    }
+
+    /* default variable names for each of the 64 positions, 'A' to 'Z' followed by numbered letters */
+    static final String[] VARIABLES = new String[64];
+
+    static {
+        for (int i = 0; i < VARIABLES.length; i++) {
+            if (i < 26)
+                VARIABLES[i] = String.valueOf((char) ('A' + i));
+            else
+                VARIABLES[i] = "(" + (char) ('A' + i % 26) + (i / 26) + ")";
+        }
+    }
+
+    /* array of terms to store terms necessary for solution, null until needed when the function was given as cubes */
     private Term[] inputTerms;
 
-    /* array list storing minterms entered by user */
-    private ArrayList<Integer> inputMinterms;
+    /* cubes the function was given as, null when it was given as minterms */
+    private Term[] inputCover;
+
+    /* array list storing minterms entered by user, null until needed when the function was given as cubes */
+    private ArrayList<Long> inputMinterms;
 
-    /* int value for the maximum length possible for solution */
+    /* int value for the maximum length possible for solution, at most 64 variables */
     private int maximumLength;
 
-    /* array list array containing solutions accumulated throughout the program */
-    private ArrayList<String>[] solution;
+    /* array list of array lists containing solutions accumulated throughout the program */
+    private ArrayList<ArrayList<Term>> solution;
 
     /* array list containing prime implicants accumulated throughout the program */
-    private ArrayList<String> primeImplicants;
+    private ArrayList<Term> primeImplicants;
 
     /* array list storing every term necessary for the second stage of solving */
     private ArrayList<Term> finTerm;
 
-    /* array list of array lists storing terms gathered from the first step of solving */
+    /* prime implicant chart of the second stage of solving */
+    private PrimeChart chart;
+
+    /* every prime implicant and the essential ones, kept as found before the chart is reduced */
+    private ArrayList<Term> allPrimes = new ArrayList<>();
+    private ArrayList<Term> essentials = new ArrayList<>();
+
+    /* array list of array lists storing terms gathered from the first step of solving, empty unless steps are retained */
     public ArrayList<ArrayList<Term>[]> firstStep;
 
-    /* array list of Hash sets storing checked terms gathered from the first step of solving */
-    public ArrayList<HashSet<String>> checkFirst;
+    /* array list of Hash sets storing checked terms gathered from the first step of solving, empty unless steps are retained */
+    public ArrayList<HashSet<Term>> checkFirst;
+
+    /* whether every tabulation column is kept in firstStep and checkFirst, or dropped once the next one exists */
+    private boolean retainSteps = true;
 
     /* array list storing simplified terms after using Petrick's method */
     public ArrayList<String> simplified;
 
-    /* constructor for the initialization of an object that implements the Quine-McCluskey method */
+    /* whether adjacent groups of a column are combined concurrently in the common fork-join pool */
+    private boolean parallel;
+
+    /* method used to generate the prime implicants */
+    private PrimeGenerator primeGenerator = PrimeGenerator.TABULATION;
+
+    /* most minimum covers kept when the chart is cyclic, every one of them by default */
+    private int solutionLimit = Integer.MAX_VALUE;
+
+    /* method used for the chart left once no more reductions apply */
+    private CoverMethod coverMethod = CoverMethod.PETRICK;
+
+    /* listener told about the progress of solving, one ignoring everything by default */
+    private ProgressListener listener = new ProgressListener() {};
+
+    /* per-thread allocation counter of the JVM, null where it cannot measure allocations */
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+
+    /* wall time and allocated bytes of each phase so far */
+    private final EnumMap<ProgressListener.Phase, Long> phaseNanos = new EnumMap<>(ProgressListener.Phase.class);
+    private final EnumMap<ProgressListener.Phase, Long> phaseBytes = new EnumMap<>(ProgressListener.Phase.class);
+
+    /* phase running, null between phases, with its start time, allocation count and flight recorder event */
+    private ProgressListener.Phase phase;
+    private long phaseStart;
+    private long phaseStartBytes;
+    private PhaseEvent phaseEvent;
+
+    /* number of cubes in each tabulation column */
+    private final ArrayList<Integer> cubesPerColumn = new ArrayList<>();
+
+    /* partner lookups made while combining and the combinations they found, shared by the fork-join tasks */
+    private final AtomicLong partnerProbes = new AtomicLong();
+    private final AtomicLong combinations = new AtomicLong();
+
+    /* size of the chart entering simplify and most products held at once by Petrick's method */
+    private int chartRows;
+    private int chartColumns;
+    private int peakProducts;
+
+    /* constructor for the initialization of an object that implements the Quine-McCluskey method, throws MintermFormatException on invalid input */
     public QuineMcCluskeyMethod (String mintermsStr) {
 
-        // converts minterms string input to int array
+        // converts minterms string input to long array, ranges included
+        this(MintermParser.parse(mintermsStr));
+    }
+
+    /* constructor for the initialization of an object from distinct minterms, throws IllegalArgumentException if there are none or some repeat */
+    public QuineMcCluskeyMethod (long[] mintermsArr) {
+        this(mintermsArr, 1);
+    }
 
-        int[] minterms = convertString(mintermsStr);
+    /* constructor for distinct minterms over at least variableCount variables, more if some minterm needs them */
+    public QuineMcCluskeyMethod (long[] mintermsArr, int variableCount) {
+        if (variableCount < 1 || variableCount > 64)
+            throw new IllegalArgumentException("Variable count must be between 1 and 64: " + variableCount);
+        if (mintermsArr.length == 0)
+            throw new IllegalArgumentException("No minterms given.");
 
-        // sorts minterms array
+        // sorts a copy of the minterms array, equal minterms end up next to each other
+        long[] minterms = mintermsArr.clone();
         Arrays.sort(minterms);
+        for (int i = 1; i < minterms.length; i++) {
+            if (minterms[i] == minterms[i - 1])
+                throw new IllegalArgumentException("Duplicates encountered: " + Long.toUnsignedString(minterms[i]));
+        }
 
-        // calculate max. length of prime implicants
-        maximumLength = Integer.toBinaryString(minterms[minterms.length - 1]).length();
+        // calculate max. length of prime implicants from the highest bit set in any minterm
+        long all = 0;
+        for (int i = 0; i < minterms.length; i++)
+            all |= minterms[i];
+        maximumLength = Math.max(variableCount, Long.SIZE - Long.numberOfLeadingZeros(all));
 
-        this.inputMinterms = new ArrayList<>();
+        initLists();
+        setMinterms(minterms);
+    }
+
+    /* constructor for the function covered by the given cubes over at least variableCount variables, which may overlap, generating the primes on a binary decision diagram by default */
+    public QuineMcCluskeyMethod (Term[] cover, int variableCount) {
+        if (variableCount < 1 || variableCount > 64)
+            throw new IllegalArgumentException("Variable count must be between 1 and 64: " + variableCount);
+        if (cover.length == 0)
+            throw new IllegalArgumentException("No cubes given.");
+
+        // the highest position holding a literal or a '-' in any cube
+        long all = 0;
+        for (int i = 0; i < cover.length; i++)
+            all |= cover[i].getValue() | cover[i].getMask();
+        maximumLength = Math.max(variableCount, Long.SIZE - Long.numberOfLeadingZeros(all));
+
+        initLists();
+
+        // the cubes are kept whole for the primes and the chart, the minterms are only listed if tabulation or a table asks for them
+        inputCover = new Term[cover.length];
+        for (int i = 0; i < cover.length; i++)
+            inputCover[i] = new Term(cover[i].getValue(), cover[i].getMask(), maximumLength);
+        primeGenerator = PrimeGenerator.BDD;
+    }
 
-        primeImplicants = new ArrayList<String>();
+    /* creates the lists filled while solving */
+    private void initLists() {
+        primeImplicants = new ArrayList<Term>();
         firstStep = new ArrayList<ArrayList<Term>[]>();
-        checkFirst = new ArrayList<HashSet<String>>();
+        checkFirst = new ArrayList<HashSet<Term>>();
         simplified = new ArrayList<String>();
+    }
+
+    /* sets the input minterms and terms from sorted distinct minterms */
+    private void setMinterms(long[] minterms) {
+        this.inputMinterms = new ArrayList<>();
 
         // combine minterms in one array
         Term[] temp = new Term[minterms.length];
@@ -98,42 +260,63 @@ public class QuineMcCluskeyMethod {
         Arrays.sort(inputTerms, new OnesComparator());
     }
 
-    /* @return int array with minterms parsed from String input */
-    private int[] convertString(String s) {
-        // replace commas with spaces, if commas were used
-        s = s.replace(",", " ");
+    /* lists the minterms of the given cubes the first time they are needed, throws IllegalArgumentException if they are too many */
+    private void expandCover() {
+        if (inputMinterms == null)
+            setMinterms(expand(inputCover));
+    }
 
-        // if string is empty
-        if (s.trim().equals("")) {
-            return new int[] {};
+    /* @return sorted distinct minterms covered by the cubes, throws IllegalArgumentException if they cover too many minterms */
+    private static long[] expand(Term[] cover) {
+        long total = 0;
+        for (int i = 0; i < cover.length; i++) {
+            total += cover[i].getMask() == -1L ? Long.MAX_VALUE : cover[i].size();
+            if (total < 0 || total > Integer.MAX_VALUE - 8)
+                throw new IllegalArgumentException("Too many minterms covered: " + cover[i]);
         }
 
-        // split string delimited by spaces and store in an array
-        String[] a = s.trim().split(" +");
-        int[] t = new int[a.length]; // array of minterms
-
-        // parse strings in the array to integers, throw error message if not digits, strings, or commas
-        for (int i = 0; i < t.length; i++) {
-            try {
-                // until it reaches outside bounds
-                int temp = Integer.parseInt(a[i]);
-                t[i] = temp;
-            } catch (Exception e) {
-                if (s.matches("[\\d,\\s]+"))
-                    JOptionPane.showMessageDialog(null, "Invalid input. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+        long[] minterms = new long[(int) total];
+        int k = 0;
+        for (int i = 0; i < cover.length; i++) {
+            for (PrimitiveIterator.OfLong it = cover[i].minterms(); it.hasNext(); )
+                minterms[k++] = it.nextLong();
         }
 
-        // check for duplicates using a hash set. if no duplicates add to hash set, repeat until end of array
-        HashSet<Integer> dup = new HashSet<>();
-        for (int i = 0; i < t.length; i++) {
-            if (dup.contains(t[i])) {
-                JOptionPane.showMessageDialog(null, "Duplicates encountered. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
-            dup.add(t[i]);
+        // cubes may overlap, keep each minterm once
+        Arrays.sort(minterms);
+        int n = 0;
+        for (int i = 0; i < k; i++) {
+            if (n == 0 || minterms[i] != minterms[n - 1])
+                minterms[n++] = minterms[i];
         }
+        return Arrays.copyOf(minterms, n);
+    }
 
-        return t;
+    /* @return minimization of the function with the given distinct minterms, throws IllegalArgumentException on invalid minterms */
+    public static MinimizationResult minimize(long[] minterms) {
+        QuineMcCluskeyMethod s = new QuineMcCluskeyMethod(minterms);
+        s.setRetainSteps(false);
+        s.solve();
+        return s.getResult();
+    }
+
+    /* @return minimization of the function with the given distinct minterms, looked up in the cache first, throws IllegalArgumentException on invalid minterms */
+    public static MinimizationResult minimize(long[] minterms, ResultCache cache) {
+        QuineMcCluskeyMethod s = new QuineMcCluskeyMethod(minterms);
+        s.setRetainSteps(false);
+        s.solve(cache);
+        return s.getResult();
+    }
+
+    /* @return minimization of the function with the given distinct non-negative minterms, throws IllegalArgumentException on invalid minterms */
+    public static MinimizationResult minimize(int[] minterms) {
+        long[] t = new long[minterms.length];
+        for (int i = 0; i < minterms.length; i++) {
+            if (minterms[i] < 0)
+                throw new IllegalArgumentException("Negative minterm: " + minterms[i]);
+            t[i] = minterms[i];
+        }
+        return minimize(t);
     }
 
     /* @return array of array lists of terms where each element represents a group of terms with the same number of ones */
@@ -155,60 +338,167 @@ public class QuineMcCluskeyMethod {
         return groups;
     }
 
-    /* main solver method of the class to be called */
+    /* combine adjacent groups of each column concurrently, the result is identical to the sequential one */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /* keep every tabulation column for display, or only the column being combined so memory stays within the widest column */
+    public void setRetainSteps(boolean retainSteps) {
+        this.retainSteps = retainSteps;
+    }
+
+    /* choose between tabulation, iterated consensus and the decision diagram for generating the prime implicants */
+    public void setPrimeGenerator(PrimeGenerator primeGenerator) {
+        this.primeGenerator = primeGenerator;
+    }
+
+    /* choose between Petrick's method and the branch and bound search for the remaining chart */
+    public void setCoverMethod(CoverMethod coverMethod) {
+        this.coverMethod = coverMethod;
+    }
+
+    /* keep at most limit minimum covers, enumerated one at a time instead of multiplying out every product, throws IllegalArgumentException if limit is not positive */
+    public void setSolutionLimit(int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Solution limit must be positive: " + limit);
+        this.solutionLimit = limit;
+    }
+
+    /* report progress of solving to the given listener, from the thread that solves */
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /* throws CancellationException once the solving thread has been interrupted, leaving its interrupt status set */
+    static void checkCancelled() {
+        checkCancelled(Thread.currentThread());
+    }
+
+    /* throws CancellationException once the given solving thread has been interrupted, for work it handed to other threads */
+    static void checkCancelled(Thread owner) {
+        if (owner.isInterrupted())
+            throw new CancellationException("Solving cancelled.");
+    }
+
+    /* main solver method of the class to be called, throws CancellationException if the thread is interrupted meanwhile */
     public void solve(){
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        generatePrimes();
+        solveSecond();
+        commit(event);
+    }
+
+    /*
+     solves up to the chart and @return iterator over at most limit minimum covers, each found only when asked for,
+     throws IllegalArgumentException if limit is not positive and CancellationException if the thread is interrupted meanwhile.
+     The covers are not kept, so printResults and getResult do not see them.
+    */
+    public Iterator<List<Term>> solveLazily(int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Solution limit must be positive: " + limit);
+        generatePrimes();
+        Iterator<List<Term>> covers;
+        if (reduceChart()) {
+            beginPhase(ProgressListener.Phase.BRANCH_AND_BOUND);
+            covers = coverIterator(chart.sums());
+        } else {
+            covers = List.<List<Term>>of(Collections.unmodifiableList(new ArrayList<>(primeImplicants))).iterator();
+        }
+        endPhase();
+
+        Iterator<List<Term>> all = covers;
+        return new Iterator<List<Term>>() {
+            // number of covers returned so far
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return count < limit && all.hasNext();
+            }
+
+            @Override
+            public List<Term> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                count++;
+                return all.next();
+            }
+        };
+    }
+
+    /* @return iterator over every minimum cover, each found only when asked for */
+    public Iterator<List<Term>> solveLazily() {
+        return solveLazily(Integer.MAX_VALUE);
+    }
+
+    /* first stage of solution with the chosen prime generator */
+    private void generatePrimes() {
+        if (primeGenerator == PrimeGenerator.CONSENSUS)
+            generateConsensus();
+        else if (primeGenerator == PrimeGenerator.BDD)
+            generateBdd();
+        else
+            tabulate();
+    }
+
+    /* first stage of solution, combining terms column by column until only the final terms are left */
+    public void tabulate(){
         // keep track of the unchecked terms
         ArrayList<Term> unchecked = new ArrayList<>();
 
         // gather the first list of grouped terms
+        expandCover();
         ArrayList<Term>[] list = group(this.inputTerms);
 
         // store resulting terms of each iteration
         ArrayList<Term>[] result;
 
-        // add the current list to the firstStep array list array
-        firstStep.add(list);
+        // add the current list to the firstStep array list array when steps are retained
+        if (retainSteps)
+            firstStep.add(list);
+        int column = 0;
+        beginPhase(ProgressListener.Phase.TABULATION);
+        cubesPerColumn.add(inputTerms.length);
+        listener.columnTabulated(0, list);
+        listener.progress(ProgressListener.Phase.TABULATION, 1, maximumLength + 1);
 
         // loop as long as result array is not empty and length > 1
         boolean insert = true;
 
         do {
+            checkCancelled();
+
             // store checked terms next
-            HashSet<String> checked= new HashSet<>();
+            HashSet<Term> checked= new HashSet<>();
 
             // set result array to a new empty array
             result = new ArrayList[list.length - 1];
 
-            ArrayList<String> temp;
             insert = false;
 
-            // loop over
-            for (int i = 0; i < list.length - 1; i++){
-                result[i] = new ArrayList<>();
-                // keep track of added terms in results to avoid duplicates
-                temp = new ArrayList<>();
-
-                // loop over each element in first group with all elements of second
-                for (int j = 0; j < list[i].size(); j++){
-                    // loop over each element in the second group
-                    for (int k = 0; k < list[i + 1].size(); k++){
-                        // check first if is a valid combination
-                        if (checkValidity(list[i].get(j), list[i + 1].get(k))) {
-                            // append the terms to be checked
-                            checked.add(list[i].get(j).getString());
-                            checked.add(list[i+1].get(k).getString());
-
-                            Term n = new Term(list[i].get(j), list[i+1].get(k));
-
-                            // check if resulting term is already in the results, don't add them
-                            if (!temp.contains(n.getString())) {
-                                result[i].add(n);
-                                insert = true;
-                            }
-                            temp.add(n.getString());
-
-                        }
-                    }
+            if (parallel && list.length > 2) {
+                // combine every pair of adjacent groups as its own task, each with its own checked set, the pool's workers watching this thread for cancellation
+                ArrayList<CombineTask> tasks = new ArrayList<>();
+                for (int i = 0; i < list.length - 1; i++) {
+                    tasks.add(new CombineTask(list[i], list[i + 1], Thread.currentThread()));
+                }
+                ForkJoinTask.invokeAll(tasks);
+
+                // merge task results in group order so the output matches the sequential path
+                for (int i = 0; i < tasks.size(); i++) {
+                    result[i] = tasks.get(i).join();
+                    checked.addAll(tasks.get(i).checked);
+                    if (!result[i].isEmpty())
+                        insert = true;
+                }
+            } else {
+                // loop over
+                for (int i = 0; i < list.length - 1; i++){
+                    result[i] = combine(list[i], list[i + 1], checked, Thread.currentThread());
+                    if (!result[i].isEmpty())
+                        insert = true;
                 }
             }
 
@@ -216,7 +506,7 @@ public class QuineMcCluskeyMethod {
             if (insert) {
                 for (int i = 0; i < list.length; i++) {
                     for (int j = 0; j < list[i].size(); j++) {
-                        if (!checked.contains(list[i].get(j).getString())) {
+                        if (!checked.contains(list[i].get(j))) {
                             // add the unchecked terms to the unchecked array list
                             unchecked.add(list[i].get(j));
                         }
@@ -224,9 +514,18 @@ public class QuineMcCluskeyMethod {
                 }
                 list = result;
 
-                // add result and checked to firstStep and checkedFirstStep array lists
-                firstStep.add(list);
-                checkFirst.add(checked);
+                // add result and checked to firstStep and checkedFirstStep array lists, otherwise the previous column is dropped here
+                if (retainSteps) {
+                    firstStep.add(list);
+                    checkFirst.add(checked);
+                }
+                column++;
+                int cubes = 0;
+                for (int i = 0; i < list.length; i++)
+                    cubes += list[i].size();
+                cubesPerColumn.add(cubes);
+                listener.columnTabulated(column, list);
+                listener.progress(ProgressListener.Phase.TABULATION, column + 1, maximumLength + 1);
             }
         } while (insert && list.length > 1);
 
@@ -240,75 +539,278 @@ public class QuineMcCluskeyMethod {
         for (int i = 0; i < unchecked.size(); i++) {
             finTerm.add(unchecked.get(i));
         }
+        endPhase();
+    }
 
-        solveSecond();
+    /* first stage of solution by iterated consensus, starting from the given cubes or else from the minterms */
+    public void generateConsensus(){
+        beginPhase(ProgressListener.Phase.CONSENSUS);
+        List<Term> cover = Arrays.asList(inputCover != null ? inputCover : inputTerms);
+        finTerm = new Consensus(cover).primes();
+        sortPrimes(finTerm);
+        endPhase();
     }
 
-    /* second stage of solution using Quine-McCluskey method recursively calls itself if there are still remaining minterms */
-    public void solveSecond(){
+    /* first stage of solution on a binary decision diagram built from the given cubes or else from the minterms */
+    public void generateBdd(){
+        beginPhase(ProgressListener.Phase.BDD);
+        Bdd bdd = new Bdd(maximumLength);
+        int f;
+        if (inputCover != null) {
+            f = bdd.fromCover(Arrays.asList(inputCover));
+        } else {
+            f = bdd.fromMinterms(mintermArray());
+        }
+        finTerm = bdd.primes(f);
+        sortPrimes(finTerm);
+        endPhase();
+    }
+
+    /* sorts generated prime implicants largest cube first, so the order does not depend on the generator */
+    private static void sortPrimes(ArrayList<Term> primes) {
+        primes.sort(Comparator.comparingInt((Term t) -> -Long.bitCount(t.getMask())).thenComparingLong(Term::getValue));
+    }
+
+    /* solves through the cache, taking the result of an earlier solve of the same function when there is one, @return true if it was cached */
+    public boolean solve(ResultCache cache) {
+        return solveCached(cache, solverName(), this::solve);
+    }
+
+    /* heuristic solve through the cache, @return true if the result was cached */
+    public boolean solveHeuristic(ResultCache cache) {
+        return solveCached(cache, "HEURISTIC", this::solveHeuristic);
+    }
+
+    /* solves through the cache of functions equal up to input permutation and negation and output negation, @return true if it was cached */
+    public boolean solve(NpnCache cache) {
+        // larger functions do not fit a truth table in a long
+        if (maximumLength > NpnCache.MAX_VARIABLES) {
+            solve();
+            return false;
+        }
+
+        long hits = cache.getHits();
+        MinimizationResult result = cache.minimize(mintermArray(), maximumLength, solverName(), (m, n) -> {
+            QuineMcCluskeyMethod s = new QuineMcCluskeyMethod(m, n);
+            s.setRetainSteps(false);
+            s.setCoverMethod(coverMethod);
+            s.setSolutionLimit(solutionLimit);
+            s.setParallel(parallel);
+            s.solve();
+            return s.getResult();
+        });
+        restore(result);
+        return cache.getHits() != hits;
+    }
+
+    /* answers a function of at most 4 variables from the precomputed table with one minimum cover, @return true if it was answered from the table */
+    public boolean solve(CoverTable table) {
+        if (maximumLength > CoverTable.MAX_VARIABLES) {
+            solve();
+            return false;
+        }
+
+        restore(table.lookup(mintermArray(), maximumLength));
+        return true;
+    }
 
-        // identify prime implicants, first and check for row dominance then column dominance
-        if (!identifyPrimeImplicants()) {
-            if (!rowDominance()) {
+    /* sets the covers, primes and essentials printResults and getResult read from an earlier result, the tabulation steps stay empty */
+    private void restore(MinimizationResult result) {
+        allPrimes = new ArrayList<>(result.getPrimeImplicants());
+        essentials = new ArrayList<>(result.getEssentialPrimeImplicants());
+        solution = new ArrayList<>();
+        for (int i = 0; i < result.getCovers().size(); i++)
+            solution.add(new ArrayList<>(result.getCovers().get(i)));
+    }
+
+    /* @return name of the exact solver for the caches, including the limit when there is one since fewer covers are kept */
+    private String solverName() {
+        return solutionLimit == Integer.MAX_VALUE ? coverMethod.name() : coverMethod.name() + "/" + solutionLimit;
+    }
+
+    /* looks the function up in the cache under the given solver, running the solver and storing its result on a miss */
+    private boolean solveCached(ResultCache cache, String solver, Runnable solve) {
+        // the minterms are kept sorted, so they already form the canonical key; given cubes are keyed by themselves instead
+        long[] key;
+        if (inputCover != null) {
+            key = cubeKey();
+            solver = "CUBES/" + solver;
+        } else {
+            key = mintermArray();
+        }
+
+        MinimizationResult cached = cache.get(key, maximumLength, solver);
+        if (cached != null) {
+            restore(cached);
+            return true;
+        }
 
-                if (!columnDominance()) {
-                    // if none succeeds, go to simplify method
-                    simplify();
-                    return;
+        solve.run();
+        cache.put(key, maximumLength, solver, getResult());
+        return false;
+    }
+
+    /* @return literals and '-' positions of the given cubes in a fixed order, so the same cubes in any order give the same key */
+    private long[] cubeKey() {
+        Term[] cubes = inputCover.clone();
+        Arrays.sort(cubes, Comparator.comparingLong(Term::getMask).thenComparingLong(Term::getValue));
+        long[] key = new long[2 * cubes.length];
+        for (int i = 0; i < cubes.length; i++) {
+            key[2 * i] = cubes[i].getValue();
+            key[2 * i + 1] = cubes[i].getMask();
+        }
+        return key;
+    }
+
+    /* @return array list of terms made by combining each term of the lower group with its partners in the upper group, throws CancellationException once the owner thread is interrupted */
+    private ArrayList<Term> combine(ArrayList<Term> lower, ArrayList<Term> upper, HashSet<Term> checked, Thread owner) {
+        ArrayList<Term> result = new ArrayList<>();
+
+        // index the upper group by its literals and '-' positions
+        TermIndex index = new TermIndex(upper.size());
+        for (int i = 0; i < upper.size(); i++)
+            index.add(upper.get(i));
+
+        // keep track of added terms in results to avoid duplicates
+        HashSet<Term> temp = new HashSet<>();
+
+        // count lookups locally, the totals are shared between tasks
+        long probes = 0;
+        long found = 0;
+
+        // loop over each element in first group and look up its partners in the second
+        for (int j = 0; j < lower.size(); j++){
+            checkCancelled(owner);
+            Term term = lower.get(j);
+
+            // a valid partner has the same '-' positions and one more '1' in place of a '0'
+            long zeros = ~term.getValue() & ~term.getMask() & lengthMask();
+            while (zeros != 0) {
+                long bit = zeros & -zeros;
+                zeros &= zeros - 1;
+
+                Term partner = index.get(term.getValue() | bit, term.getMask());
+                probes++;
+                if (partner != null) {
+                    found++;
+                    // append the terms to be checked
+                    checked.add(term);
+                    checked.add(partner);
+
+                    Term n = new Term(term, partner);
+
+                    // check if resulting term is already in the results, don't add them
+                    if (temp.add(n))
+                        result.add(n);
                 }
             }
         }
+        partnerProbes.addAndGet(probes);
+        combinations.addAndGet(found);
+        return result;
+    }
 
-        // if there are still minterms to be taken call this function again
-        if (inputMinterms.size() != 0)
-            solveSecond();
-            // if all minterms taken, add to solution
-        else {
-            solution = new ArrayList[1];
-            solution[0] = primeImplicants;
+    /* @return the minterms as an array, in the order they are kept, listing those of the given cubes first if needed */
+    private long[] mintermArray() {
+        expandCover();
+        long[] minterms = new long[inputMinterms.size()];
+        for (int i = 0; i < minterms.length; i++)
+            minterms[i] = inputMinterms.get(i);
+        return minterms;
+    }
+
+    /* @return a term for each minterm, in the order they are kept */
+    private ArrayList<Term> mintermColumns() {
+        ArrayList<Term> columns = new ArrayList<>(inputMinterms.size());
+        for (int i = 0; i < inputMinterms.size(); i++)
+            columns.add(new Term(inputMinterms.get(i), maximumLength));
+        return columns;
+    }
+
+    /* @return long with a bit set for every position of a term */
+    private long lengthMask() {
+        return maximumLength >= 64 ? -1L : (1L << maximumLength) - 1;
+    }
+
+    /* heuristic solver for large functions, giving a single near-minimal solution without generating every prime implicant */
+    public void solveHeuristic(){
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        beginPhase(ProgressListener.Phase.HEURISTIC);
+
+        // given cubes are minimized as they are, minterms are merged into cubes first
+        Espresso espresso = inputCover != null ? new Espresso(Arrays.asList(inputCover), maximumLength)
+                : new Espresso(mintermArray(), maximumLength);
+        solution = new ArrayList<>();
+        solution.add(espresso.minimize());
+        endPhase();
+        commit(event);
+    }
+
+    /* second stage of solution using Quine-McCluskey method, reducing the prime implicant chart */
+    public void solveSecond(){
+        // if a cyclic core is left, go to simplify method with it
+        if (reduceChart())
+            simplify();
+        endPhase();
+    }
+
+    /* builds and reduces the chart until every minterm is covered or only the cyclic core is left, @return true if a cyclic core is left */
+    private boolean reduceChart(){
+        beginPhase(ProgressListener.Phase.CHART_REDUCTION);
+
+        // build the chart of final terms against minterms, or cubes of them for given cubes, once, reductions only remove rows and columns
+        chart = new PrimeChart(finTerm, inputCover != null ? PrimeChart.columns(inputCover, finTerm) : mintermColumns());
+
+        // keep the prime implicants and the essential ones before the reductions remove them
+        allPrimes = new ArrayList<>(finTerm);
+        essentials = chart.essentialTerms();
+
+        int total = chart.columnCount();
+        while (chart.columnCount() != 0) {
+            checkCancelled();
+            listener.progress(ProgressListener.Phase.CHART_REDUCTION, total - chart.columnCount(), total);
+
+            // take all essential prime implicants first, then check for row dominance then column dominance
+            if (identifyPrimeImplicants() || rowDominance() || columnDominance())
+                continue;
+
+            // if none succeeds, what is left of the chart is the cyclic core
+            finTerm = chart.liveTerms();
+            chartRows = finTerm.size();
+            chartColumns = chart.columnCount();
+            return true;
         }
+
+        // if all minterms taken, add to solution
+        solution = new ArrayList<>();
+        solution.add(primeImplicants);
+        return false;
     }
 
     /*check if two terms are valid for grouping  */
     boolean checkValidity (Term term1, Term term2) {
         // check if both terms have the same length
-        if (term1.getString().length() != term2.getString().length())
+        if (term1.getLength() != term2.getLength())
             return false;
 
-        // count differing positions, return false immediately if '-' is paired with 0 or 1
-        int k = 0;
-        for (int i = 0; i < term1.getString().length(); i++) {
-            if (term1.getString().charAt(i) == '-' && term2.getString().charAt(i) != '-')
-                return false;
-            else if (term1.getString().charAt(i) != '-' && term2.getString().charAt(i) == '-')
-                return false;
-            else if (term1.getString().charAt(i) != term2.getString().charAt(i))
-                k++;
-        }
+        // return false immediately if '-' is paired with 0 or 1
+        if (term1.getMask() != term2.getMask())
+            return false;
 
         // only return true if there is exactly one differing position from both terms
-        if (k != 1)
-            return false;
-        else
-            return true;
+        return Long.bitCount(term1.getValue() ^ term2.getValue()) == 1;
     }
 
     /* check if two terms have all its numbers present in another term  */
     boolean contains(Term term1, Term term2) {
         // return false if the number of minterms grouped in term1 is less than or equal than that of term2's
-        if (term1.getNums().size() <= term2.getNums().size()) {
+        if (term1.size() <= term2.size()) {
             return false;
         }
 
-        // else, gather all numbers associated with term1 and term2 in array lists
-        ArrayList<Integer> a = term1.getNums();
-        ArrayList<Integer> b = term2.getNums();
-
-        // return true if all numbers in b are in a, else false
-        if (a.containsAll(b))
-            return true;
-        else
-            return false;
+        // return true if all numbers in term2 are in term1, else false
+        return term1.covers(term2);
     }
 
     /*
@@ -317,203 +819,235 @@ public class QuineMcCluskeyMethod {
     */
 
     void simplify(){
-        HashSet<String>[] temp = new HashSet[inputMinterms.size()];
+        // number of longs needed for one bit per final term
+        int words = (finTerm.size() + 63) >>> 6;
 
-        //construct temp array containing sets of associated characters for minterms in finalTerms
-        for (int i = 0; i < inputMinterms.size(); i++) {
-            temp[i] = new HashSet<>();
-            for (int j = 0; j < finTerm.size(); j++) {
-                if (finTerm.get(j).getNums().contains(inputMinterms.get(i))) {
-                    char t = (char) ('a' + j);
-                    simplified.add(t + ": " + finTerm.get(j).getString());
-                    temp[i].add(t + "");
-                }
-            }
+        // label each final term for display
+        for (int j = 0; j < finTerm.size(); j++) {
+            simplified.add(label(j) + ": " + finTerm.get(j).getString());
+        }
+
+        //take the sum of final terms covering each minterm as a bit set from the chart
+        ArrayList<long[]> temp = chart.sums();
+
+        // search for a single minimum cover instead when asked to
+        if (coverMethod == CoverMethod.BRANCH_AND_BOUND) {
+            beginPhase(ProgressListener.Phase.BRANCH_AND_BOUND);
+            coverSearch(temp);
+            return;
         }
 
-        // multiply sets in temp for simplification
-        HashSet<String> finalResult = multiply(temp, 0);
+        // with a limit, take the first minimum covers from the search instead of multiplying out every product
+        if (solutionLimit != Integer.MAX_VALUE) {
+            beginPhase(ProgressListener.Phase.BRANCH_AND_BOUND);
+            solution = new ArrayList<>();
+            Iterator<List<Term>> it = coverIterator(temp);
+            while (solution.size() < solutionLimit && it.hasNext())
+                solution.add(new ArrayList<>(it.next()));
+            return;
+        }
+        beginPhase(ProgressListener.Phase.PETRICK);
+
+        // multiply sums in temp for simplification, shortest sums first to keep the products few
+        ArrayList<long[]> finalResult = multiply(absorb(temp), words);
 
         // identify minimum length terms in finalResult and count occurences
         int min = -1;
         int count = 0;
-        for (Iterator<String> t = finalResult.iterator(); t.hasNext();) {
-            String m = t.next();
-            if (min == -1 || m.length() < min) {
-                min = m.length();
+        for (int i = 0; i < finalResult.size(); i++) {
+            int m = Bits.bitCount(finalResult.get(i));
+            if (min == -1 || m < min) {
+                min = m;
                 count = 1;
-            } else if (min == m.length()) {
+            } else if (min == m) {
                 count++;
             }
         }
 
         // add the simplified minimum terms to solutions
-        solution = new ArrayList[count];
-        int k = 0;
-        for (Iterator<String> t = finalResult.iterator(); t.hasNext();) {
-            String c = t.next();
-            if (c.length() == min) {
-                solution[k] = new ArrayList<>();
-                for (int i = 0; i < c.length(); i++) {
-                    solution[k].add(finTerm.get((int) c.charAt(i) - 'a').getString());
+        solution = new ArrayList<>(count);
+        for (int i = 0; i < finalResult.size(); i++) {
+            long[] c = finalResult.get(i);
+            if (Bits.bitCount(c) == min) {
+                ArrayList<Term> cover = new ArrayList<>();
+                for (int j = 0; j < finTerm.size(); j++) {
+                    if ((c[j >>> 6] & (1L << j)) != 0)
+                        cover.add(finTerm.get(j));
                 }
-                for (int i = 0; i < primeImplicants.size(); i++) {
-                    solution[k].add(primeImplicants.get(i));
+                for (int j = 0; j < primeImplicants.size(); j++) {
+                    cover.add(primeImplicants.get(j));
                 }
-                k++;
+                solution.add(cover);
             }
         }
     }
 
-    /* multiplies elements from sets at indeces adjacent to each other in the Hash set array and recurvisely computes for the product */
-    HashSet<String> multiply(HashSet<String>[] p, int k){
-        // check if k is greater than or equal to p.length - 1
-        if (k >= p.length - 1)
-            return p[k];
-
-        // initialize resulting Hash set
-        HashSet<String> s = new HashSet<>();
+    /* finds one minimum cover of the remaining chart with the branch and bound solver */
+    private void coverSearch(ArrayList<long[]> sums) {
+        int[] cover = new CoverSolver(rows(sums), sums.size()).solve();
 
-        // iterate through elements of p[k]
-        for (Iterator<String> t = p[k].iterator(); t.hasNext();) {
-            String temp2 = t.next();
-            // iterate through elements of p[k +1]
-            for (Iterator<String> g = p[k + 1].iterator(); g.hasNext();) {
-                String temp3 = g.next();
-                // add mixed elements to resulting Hash set
-                s.add(mix(temp2, temp3));
-            }
+        // add the cover along with the prime implicants already taken as the only solution
+        ArrayList<Term> terms = new ArrayList<>();
+        for (int i = 0; i < cover.length; i++) {
+            terms.add(finTerm.get(cover[i]));
+        }
+        for (int j = 0; j < primeImplicants.size(); j++) {
+            terms.add(primeImplicants.get(j));
         }
-        p[k + 1] = s; // update element from Hash set array at index k+1 with the resulting set
-        return multiply(p, k + 1); // recursion to multiply the following sets until the end index
+        solution = new ArrayList<>();
+        solution.add(terms);
     }
 
-    /* mixes terms and simplifies those that are duplicated with respect to properties of boolean expressions */
-    String mix (String str1, String str2){
-        // Hash set to immediately remove duplicates
-        HashSet<Character> r = new HashSet<>();
-
-        // add characters from str1 to Hash set r
-        for (int i = 0; i < str1.length(); i++)
-            r.add(str1.charAt(i));
-
-        // add characters from str2 to Hash set r
-        for (int i = 0; i < str2.length(); i++)
-            r.add(str2.charAt(i));
-
-        // construct resulting string by concatenating characters from Hash set r
-        String result = "";
-        for (Iterator<Character> i = r.iterator(); i.hasNext();)
-            result += i.next();
+    /* @return iterator over every minimum cover of the remaining chart, along with the prime implicants already taken, each found only when asked for */
+    private Iterator<List<Term>> coverIterator(ArrayList<long[]> sums) {
+        Iterator<int[]> covers = new CoverSolver(rows(sums), sums.size()).minimumCovers();
+        ArrayList<Term> terms = finTerm;
+        ArrayList<Term> taken = new ArrayList<>(primeImplicants);
+        return new Iterator<List<Term>>() {
+            @Override
+            public boolean hasNext() {
+                return covers.hasNext();
+            }
 
-        return result;
+            @Override
+            public List<Term> next() {
+                int[] cover = covers.next();
+                Arrays.sort(cover);
+                ArrayList<Term> r = new ArrayList<>();
+                for (int i = 0; i < cover.length; i++)
+                    r.add(terms.get(cover[i]));
+                r.addAll(taken);
+                return Collections.unmodifiableList(r);
+            }
+        };
     }
 
-    /* identify prime implicants, add them to primeImplicants array list, and remove from minterms and finalTerms array lists */
-    private boolean identifyPrimeImplicants(){
-        // initialize columns array to store indeces of final terms matching each minterm
-        ArrayList<Integer>[] columns = new ArrayList[inputMinterms.size()];
-
-        // fill columns with indeces of final terms that match each minterm
-        for (int i = 0; i < inputMinterms.size(); i++) {
-            columns[i] = new ArrayList();
+    /* @return rows of minterms covered by each final term, turned from the sums of final terms covering each minterm */
+    private long[][] rows(ArrayList<long[]> sums) {
+        long[][] rows = new long[finTerm.size()][(sums.size() + 63) >>> 6];
+        for (int i = 0; i < sums.size(); i++) {
+            long[] sum = sums.get(i);
             for (int j = 0; j < finTerm.size(); j++) {
-                if (finTerm.get(j).getNums().contains(inputMinterms.get(i))) {
-                    columns[i].add(j);
-                }
+                if ((sum[j >>> 6] & (1L << j)) != 0)
+                    rows[j][i >>> 6] |= 1L << i;
             }
         }
-        boolean isPrimeImplicant = false;
-
-        // check each minterm's matched final terms for single matches
-        for (int i = 0; i < inputMinterms.size(); i++) {
-            if (columns[i].size() == 1) {
-                isPrimeImplicant = true;
+        return rows;
+    }
 
-                // gather numbers of associated minterms with the prime implicant
-                ArrayList<Integer> del = finTerm.get(columns[i].get(0)).getNums();
+    /* multiplies the sums one after another into a set of products, absorbing larger products after every step */
+    ArrayList<long[]> multiply(ArrayList<long[]> sums, int words){
+        // start from the empty product
+        ArrayList<long[]> products = new ArrayList<>();
+        products.add(new long[words]);
+
+        for (int i = 0; i < sums.size(); i++) {
+            listener.progress(ProgressListener.Phase.PETRICK, i, sums.size());
+            long[] sum = sums.get(i);
+            ArrayList<long[]> kept = new ArrayList<>();
+            ArrayList<long[]> next = new ArrayList<>();
+
+            for (int j = 0; j < products.size(); j++) {
+                checkCancelled();
+                long[] p = products.get(j);
+
+                // a product already holding a term of the sum absorbs every product made from it, and cannot be absorbed itself
+                if (Bits.intersects(p, sum)) {
+                    kept.add(p);
+                    continue;
+                }
 
-                // remove associated minterms from object's array of minterms
-                for (int j = 0; j < inputMinterms.size(); j++) {
-                    if (del.contains(inputMinterms.get(j))) {
-                        inputMinterms.remove(j);
-                        j--;
+                // otherwise extend the product by each term of the sum
+                for (int w = 0; w < words; w++) {
+                    long bits = sum[w];
+                    while (bits != 0) {
+                        long[] q = p.clone();
+                        q[w] |= bits & -bits;
+                        bits &= bits - 1;
+                        next.add(q);
                     }
                 }
-
-                // add the identified prime implicant to the primeImplicant array list
-                primeImplicants.add(finTerm.get(columns[i].get(0)).getString());
-                // remove identified prime implicant from finalTerms array list
-                finTerm.remove(columns[i].get(0).intValue());
-                break;
             }
+            peakProducts = Math.max(peakProducts, kept.size() + next.size());
+            products = absorb(next, kept);
         }
-        return isPrimeImplicant;
+        return products;
     }
 
-    /* identify dominating columns and removes them from the minterms and finalTerms array lists */
-    private boolean columnDominance(){
-        boolean flag = false;
-
-        // create a table
-        ArrayList<ArrayList<Integer>> columns = new ArrayList<>();
+    /* @return bit sets without duplicates and without any set containing another one (X + XY = X), smallest first */
+    ArrayList<long[]> absorb(ArrayList<long[]> sets){
+        return absorb(sets, new ArrayList<>());
+    }
 
-        // fill columns with indeces of final terms that match each minterm
-        for (int i = 0; i < inputMinterms.size(); i++){
-            columns.add(new ArrayList<Integer>());
-            for (int j = 0; j < finTerm.size(); j++){
-                if (finTerm.get(j).getNums().contains(inputMinterms.get(i)))
-                    columns.get(i).add(j);
+    /* @return kept bit sets followed by those of sets not absorbed by any kept one or by each other */
+    ArrayList<long[]> absorb(ArrayList<long[]> sets, ArrayList<long[]> kept){
+        // sort by size so that a set can only be absorbed by one kept before it
+        ArrayList<long[]> sorted = new ArrayList<>(sets);
+        sorted.sort(Comparator.comparingInt(Bits::bitCount));
+
+        for (int i = 0; i < sorted.size(); i++) {
+            checkCancelled();
+            long[] s = sorted.get(i);
+            boolean absorbed = false;
+            for (int j = 0; j < kept.size() && !absorbed; j++) {
+                absorbed = Bits.containsAll(s, kept.get(j));
             }
+            if (!absorbed)
+                kept.add(s);
         }
+        return kept;
+    }
 
-        // identify dominating columns, where a column has its all its checks present in the other dominating columns, and remove them
-        for (int i = 0; i < columns.size(); i++) {
-            for (int j = i + 1; j < columns.size(); j++) {
-                if (columns.get(j).containsAll(columns.get(i)) && columns.get(j).size() > columns.get(i).size()) {
-                    columns.remove(j);
-                    inputMinterms.remove(j);
-                    j--;
-                    flag = true;
-                } else if (columns.get(i).containsAll(columns.get(j)) && columns.get(i).size() > columns.get(j).size()) {
-                    columns.remove(i);
-                    inputMinterms.remove(i);
-                    i--;
-                    flag = true;
-                    break;
-                }
-            }
+    /* @return display label of a final term, 'a' to 'z' followed by numbered letters */
+    private static String label(int j) {
+        if (j < 26)
+            return String.valueOf((char) ('a' + j));
+        return "" + (char) ('a' + j % 26) + (j / 26);
+    }
+
+    /* identify every prime implicant that is the only one covering some minterm, add them to primeImplicants array list, and remove them and their minterms from the chart */
+    private boolean identifyPrimeImplicants(){
+        boolean isPrimeImplicant = false;
+
+        // taking one may leave another minterm with a single prime implicant, those are picked up in the same pass
+        for (int row = chart.essentialRow(); row >= 0; row = chart.essentialRow()) {
+            isPrimeImplicant = true;
+
+            // add the identified prime implicant to the primeImplicant array list
+            primeImplicants.add(chart.term(row));
+            // remove it along with the minterms it covers
+            chart.select(row);
         }
-        return flag;
+        return isPrimeImplicant;
     }
 
-    /* identify dominating rows and removes them from the minterms and finalTerms array lists */
+    /* identify dominating columns and removes them from the chart */
+    private boolean columnDominance(){
+        return chart.removeDominatingColumns();
+    }
+
+    /* identify dominated rows and removes them from the chart */
     private boolean rowDominance(){
-        boolean flag = false;
-
-        // identify dominating rows, where a row has its all its checks present in the other dominating columns, and remove them
-        for (int i = 0; i < finTerm.size() - 1; i++) {
-            for (int j = i + 1; j < finTerm.size(); j++) {
-                if (contains(finTerm.get(i), finTerm.get(j))) {
-                    finTerm.remove(j);
-                    j--;
-                    flag = true;
-                } else if (contains(finTerm.get(j), finTerm.get(i))) {
-                    finTerm.remove(i);
-                    i--;
-                    flag = true;
-                    break;
-                }
-            }
-        }
-        return flag;
+        return chart.removeDominatedRows();
+    }
+
+    /* @return name of the variable at a position, taken from the user's variables or the default table */
+    static String variableName(String[] variables, int i) {
+        if (variables != null && i < variables.length && variables[i] != null)
+            return variables[i];
+        return VARIABLES[i];
     }
 
-    /* converts a term in binary form to standard form */
-    String toStandardForm(String s) {
+    /* @return number of variables of the function */
+    public int getVariableCount() {
+        return maximumLength;
+    }
+
+    /* converts a term in binary form to standard form, naming each position through the variables table */
+    static String toStandardForm(String s, String[] variables) {
         StringBuilder r = new StringBuilder();
 
-        // i keeps track of variables starting from 'A'
+        // i keeps track of variables starting from the first one
         for (int i = 0; i < s.length(); i++) {
 
             // ignores '-' and proceeds to next character
@@ -523,12 +1057,12 @@ public class QuineMcCluskeyMethod {
 
             // unprimed variable if 1
             else if (s.charAt(i) == '1') {
-                r.append((char) ('A' + i));
+                r.append(variableName(variables, i));
             }
 
             // primed variable if 0
             else {
-                r.append((char) ('A' + i));
+                r.append(variableName(variables, i));
                 r.append('\'');
             }
         }
@@ -540,57 +1074,121 @@ public class QuineMcCluskeyMethod {
         return r.toString();
     }
 
+    /* @return snapshot of the time, allocations and sizes recorded by the solving done so far */
+    public SolverMetrics getMetrics() {
+        return new SolverMetrics(phaseNanos, phaseBytes, cubesPerColumn, partnerProbes.get(), combinations.get(),
+                chartRows, chartColumns, peakProducts);
+    }
+
+    /* ends the running phase if any and starts timing the given one */
+    private void beginPhase(ProgressListener.Phase next) {
+        endPhase();
+        phase = next;
+        phaseEvent = new PhaseEvent();
+        phaseStartBytes = allocatedBytes();
+        phaseStart = System.nanoTime();
+        phaseEvent.begin();
+        listener.phaseStarted(next);
+    }
+
+    /* adds the time and allocations of the running phase to its totals and emits its event */
+    private void endPhase() {
+        if (phase == null)
+            return;
+        long nanos = System.nanoTime() - phaseStart;
+        long bytes = phaseStartBytes < 0 ? -1 : allocatedBytes() - phaseStartBytes;
+        phaseNanos.merge(phase, nanos, Long::sum);
+        phaseBytes.merge(phase, bytes, (a, b) -> a < 0 || b < 0 ? -1 : a + b);
+
+        phaseEvent.end();
+        if (phaseEvent.shouldCommit()) {
+            phaseEvent.phase = phase.name();
+            phaseEvent.variables = maximumLength;
+            phaseEvent.minterms = inputTerms == null ? 0 : inputTerms.length;
+            phaseEvent.cubes = inputCover == null ? 0 : inputCover.length;
+            phaseEvent.allocatedBytes = bytes;
+            phaseEvent.commit();
+        }
+        phase = null;
+        phaseEvent = null;
+    }
+
+    /* emits the event of a whole solve with the counters recorded */
+    private void commit(SolveEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.variables = maximumLength;
+            event.minterms = inputTerms == null ? 0 : inputTerms.length;
+            event.cubes = inputCover == null ? 0 : inputCover.length;
+            event.cubesPerColumn = cubesPerColumn.toString();
+            event.partnerProbes = partnerProbes.get();
+            event.combinations = combinations.get();
+            event.chartRows = chartRows;
+            event.chartColumns = chartColumns;
+            event.peakProducts = peakProducts;
+            event.solutions = solution.size();
+            event.commit();
+        }
+    }
+
+    /* @return bytes allocated so far by the current thread, -1 if the JVM cannot tell */
+    private static long allocatedBytes() {
+        return ALLOCATIONS == null ? -1 : ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /* @return the JVM's per-thread allocation counter, null if it has none or it is disabled */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+            if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled())
+                return counter;
+        }
+        return null;
+    }
+
+    /* @return structured result of the last solve, throws IllegalStateException if nothing was solved yet */
+    public MinimizationResult getResult() {
+        if (solution == null)
+            throw new IllegalStateException("Function not solved yet.");
+        return new MinimizationResult(maximumLength, allPrimes, essentials, solution);
+    }
+
+    /* @return number of solutions found */
+    public int getSolutionCount() {
+        return solution.size();
+    }
+
+    /* @return solution i as a sum of products in standard form, using the entered variables */
+    public String printSolution(int i, String[] variables) {
+        // convert solution to standard form first, separate sum of products with '+'
+        StringBuilder finalAnswer = new StringBuilder();
+        for (int j = 0; j < solution.get(i).size(); j++) {
+            finalAnswer.append(toStandardForm(solution.get(i).get(j).getString(), variables));
+            if (j != solution.get(i).size() - 1) {
+                finalAnswer.append(" + ");
+            }
+        }
+        return finalAnswer.toString();
+    }
+
     /* build a String for the final resulting solutions to be presented to the user */
     public String printResults(String[] variables) {
         StringBuilder printedAnswer = new StringBuilder();
-        for (int i = 0; i < solution.length; i++) {
+        for (int i = 0; i < solution.size(); i++) {
 
-            if (solution.length == 1)
+            if (solution.size() == 1)
                 printedAnswer.append("Solution:").append("\n");
             else
                 printedAnswer.append("Solution #").append(i+1).append(":").append("\n");
 
-            // convert solution to standard form first, separate sum of products with '+'
-            StringBuilder finalAnswer = new StringBuilder();
-            for (int j = 0; j < solution[i].size(); j++) {
-                finalAnswer.append(toStandardForm(solution[i].get(j)));
-                if (j != solution[i].size() - 1) {
-                    finalAnswer.append(" + ");
-                }
-            }
-
-            // replace characters from converted standard form with their respective variable entered by the user
-            for (int j = 0; j < finalAnswer.toString().length(); j++){
-                if(finalAnswer.charAt(j) == 'A')
-                    printedAnswer.append(variables[0]);
-                else if (finalAnswer.charAt(j) == 'B')
-                    printedAnswer.append(variables[1]);
-                else if (finalAnswer.charAt(j) == 'C')
-                    printedAnswer.append(variables[2]);
-                else if (finalAnswer.charAt(j) == 'D')
-                    printedAnswer.append(variables[3]);
-                else if (finalAnswer.charAt(j) == 'E')
-                    printedAnswer.append(variables[4]);
-                else if (finalAnswer.charAt(j) == 'F')
-                    printedAnswer.append(variables[5]);
-                else if (finalAnswer.charAt(j) == 'G')
-                    printedAnswer.append(variables[6]);
-                else if (finalAnswer.charAt(j) == 'H')
-                    printedAnswer.append(variables[7]);
-                else if (finalAnswer.charAt(j) == 'I')
-                    printedAnswer.append(variables[8]);
-                else if (finalAnswer.charAt(j) == 'J')
-                    printedAnswer.append(variables[9]);
-                else
-                    printedAnswer.append(finalAnswer.toString().charAt(j));
-            }
+            printedAnswer.append(printSolution(i, variables));
             printedAnswer.append("\n\n");
         }
         return printedAnswer.toString();
     }
 }
 
-
 /*
  * References
 https://arxiv.org/ftp/arxiv/papers/1410/1410.1059.pdf#:~:text=Quine%2DMcCluskey%20(QM)%20method,makes%20it%20an%20efficient%20technique. 
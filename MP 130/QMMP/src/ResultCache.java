@@ -0,0 +1,100 @@
+/*
+ * File: ResultCache.java
+ * --------------------------
+ * This file contains the ResultCache class, a bounded cache of minimization results
+ * evicting the least recently used entry.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Entries are keyed by the sorted minterms of a function, its number of variables and
+ * the solver used, so the same function entered in any order or with any delimiters
+ * maps to the same entry. A function given as cubes is keyed by its sorted cubes
+ * instead, under a solver name of its own, so it is never expanded for the key. Results are immutable and are shared between hits as they are.
+ * Eviction and counting are left to an LruCache, so one cache can serve several solving
+ * threads.
+ */
+
+import java.util.*;
+
+// definition of the ResultCache class.
+public class ResultCache {
+
+    /* key of a cached result, the sorted minterms together with the variable count and solver */
+    private static final class Key {
+
+        private final long[] minterms;
+        private final int variableCount;
+        private final String solver;
+        private final int hash;
+
+        Key(long[] minterms, int variableCount, String solver) {
+            this.minterms = minterms;
+            this.variableCount = variableCount;
+            this.solver = solver;
+            this.hash = 31 * (31 * Arrays.hashCode(minterms) + variableCount) + solver.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key))
+                return false;
+            Key k = (Key) o;
+            return hash == k.hash && variableCount == k.variableCount && solver.equals(k.solver)
+                    && Arrays.equals(minterms, k.minterms);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /* results by key, the least recently used evicted first */
+    private final LruCache<Key, MinimizationResult> entries;
+
+    /* constructor for a cache holding at most capacity results, throws IllegalArgumentException if capacity is not positive */
+    public ResultCache(int capacity) {
+        this.entries = new LruCache<>("ResultCache", capacity);
+    }
+
+    /* @return cached result for the sorted minterms, or null, counting the lookup as a hit or a miss */
+    MinimizationResult get(long[] minterms, int variableCount, String solver) {
+        return entries.get(new Key(minterms, variableCount, solver));
+    }
+
+    /* stores the result for the sorted minterms, evicting the least recently used entry when full */
+    void put(long[] minterms, int variableCount, String solver, MinimizationResult result) {
+        entries.put(new Key(minterms, variableCount, solver), result);
+    }
+
+    /* @return number of lookups answered from the cache */
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    /* @return number of lookups that had to be solved */
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    /* @return number of results held */
+    public int size() {
+        return entries.size();
+    }
+
+    /* @return most results held */
+    public int getCapacity() {
+        return entries.getCapacity();
+    }
+
+    /* removes every result and resets the counters */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return entries.toString();
+    }
+}
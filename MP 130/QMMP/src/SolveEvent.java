@@ -0,0 +1,51 @@
+/*
+ * File: SolveEvent.java
+ * --------------------------
+ * This file contains the SolveEvent class, the flight recorder event of a whole solve.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Carries the counters of SolverMetrics, so slow inputs can be found in a recording by
+ * their duration and the chart and product sizes that caused it.
+ */
+
+import jdk.jfr.*;
+
+// definition of the SolveEvent class.
+@Name("qmmp.Solve")
+@Label("Solve")
+@Category("Quine-McCluskey")
+@Description("Minimizing one function")
+class SolveEvent extends Event {
+
+    @Label("Variables")
+    int variables;
+
+    @Label("Minterms")
+    int minterms;
+
+    @Label("Cubes")
+    int cubes;
+
+    @Label("Cubes Per Column")
+    String cubesPerColumn;
+
+    @Label("Partner Probes")
+    long partnerProbes;
+
+    @Label("Combinations")
+    long combinations;
+
+    @Label("Chart Rows")
+    int chartRows;
+
+    @Label("Chart Columns")
+    int chartColumns;
+
+    @Label("Peak Products")
+    int peakProducts;
+
+    @Label("Solutions")
+    int solutions;
+}
@@ -0,0 +1,107 @@
+/*
+ * File: SolverMetrics.java
+ * --------------------------
+ * This file contains the SolverMetrics class, a snapshot of where a solve spent its time.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Holds the wall time and the bytes allocated by the solving thread in each phase, the
+ * number of cubes in each tabulation column, the number of partner lookups made while
+ * combining, the size of the chart left for the cover method and the largest set of
+ * products Petrick's method held at once. Allocations of the fork-join workers used by
+ * parallel tabulation are not counted, and allocated bytes are -1 where the JVM cannot
+ * measure them.
+ */
+
+import java.util.*;
+
+// definition of the SolverMetrics class.
+public final class SolverMetrics {
+
+    /* wall time and allocated bytes of each phase that ran */
+    private final Map<ProgressListener.Phase, Long> phaseNanos;
+    private final Map<ProgressListener.Phase, Long> phaseAllocatedBytes;
+
+    /* number of cubes in each tabulation column, the first being the minterms */
+    private final List<Integer> cubesPerColumn;
+
+    /* partner lookups made while combining and the combinations they found */
+    private final long partnerProbes;
+    private final long combinations;
+
+    /* rows and columns of the chart entering simplify, 0 if the reductions covered everything */
+    private final int chartRows;
+    private final int chartColumns;
+
+    /* most products held at once while multiplying out the sums */
+    private final int peakProducts;
+
+    /* constructor for a snapshot, copying the given maps and list */
+    SolverMetrics(Map<ProgressListener.Phase, Long> phaseNanos, Map<ProgressListener.Phase, Long> phaseAllocatedBytes,
+                  List<Integer> cubesPerColumn, long partnerProbes, long combinations,
+                  int chartRows, int chartColumns, int peakProducts) {
+        this.phaseNanos = Collections.unmodifiableMap(new EnumMap<>(phaseNanos));
+        this.phaseAllocatedBytes = Collections.unmodifiableMap(new EnumMap<>(phaseAllocatedBytes));
+        this.cubesPerColumn = List.copyOf(cubesPerColumn);
+        this.partnerProbes = partnerProbes;
+        this.combinations = combinations;
+        this.chartRows = chartRows;
+        this.chartColumns = chartColumns;
+        this.peakProducts = peakProducts;
+    }
+
+    /* @return wall time of each phase that ran in nanoseconds */
+    public Map<ProgressListener.Phase, Long> getPhaseNanos() {
+        return phaseNanos;
+    }
+
+    /* @return bytes allocated by the solving thread in each phase that ran */
+    public Map<ProgressListener.Phase, Long> getPhaseAllocatedBytes() {
+        return phaseAllocatedBytes;
+    }
+
+    /* @return number of cubes in each tabulation column */
+    public List<Integer> getCubesPerColumn() {
+        return cubesPerColumn;
+    }
+
+    /* @return number of partner lookups made while combining */
+    public long getPartnerProbes() {
+        return partnerProbes;
+    }
+
+    /* @return number of lookups that found a partner to combine with */
+    public long getCombinations() {
+        return combinations;
+    }
+
+    /* @return rows of the chart entering simplify */
+    public int getChartRows() {
+        return chartRows;
+    }
+
+    /* @return columns of the chart entering simplify */
+    public int getChartColumns() {
+        return chartColumns;
+    }
+
+    /* @return most products held at once by Petrick's method */
+    public int getPeakProducts() {
+        return peakProducts;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder r = new StringBuilder("SolverMetrics[");
+        for (Map.Entry<ProgressListener.Phase, Long> e : phaseNanos.entrySet()) {
+            r.append(e.getKey()).append('=').append(e.getValue() / 1000).append("us/")
+                    .append(phaseAllocatedBytes.get(e.getKey())).append("B, ");
+        }
+        return r.append("columns=").append(cubesPerColumn)
+                .append(", probes=").append(partnerProbes)
+                .append(", combinations=").append(combinations)
+                .append(", chart=").append(chartRows).append('x').append(chartColumns)
+                .append(", peakProducts=").append(peakProducts).append(']').toString();
+    }
+}
@@ -8,85 +8,143 @@
  */
 
 
-// importing the ArrayList class from java.util package for handling dynamic arrays.
+// importing the iterator classes from java.util package for going over covered minterms.
 import java.util.*;
 
 // definition of the Term class.
 public class Term {
 
-    // declaration of private member variables inputTerms, num, and nums.
-    private String inputTerms;
-    private int num;
-    private ArrayList<Integer> nums;
+    // declaration of private member variables value, mask, length, and num.
+    // bit i of value holds the literal at position i counted from the right of the binary form,
+    // bit i of mask is set where that position has been combined into a '-'.
+    private final long value;
+    private final long mask;
+    private final int length;
+    private final int num;
 
     // constructor to initialize a Term object with a single value and a specified length.
-    public Term (int value, int length){
+    public Term (long value, int length){
+        this.value = value;
+        this.mask = 0;
+        this.length = length;
 
-        // converting the integer value to its binary representation as a string.
-        String binary = Integer.toBinaryString(value);
+        // counting the number of '1's in the binary form.
+        num = Long.bitCount(value);
+    }
 
-        // ensuring that the binary string has the specified length by adding leading zeros if necessary.
-        StringBuffer temp = new StringBuffer(binary);
-        while (temp.length() != length){
-            temp.insert(0, 0);
-        }
-        // setting the inputTerms to the binary string.
-        this.inputTerms = temp.toString();
-
-        // initializing the nums ArrayList with the value.
-        nums = new ArrayList<Integer>();
-        nums.add(value);
-
-        // counting the number of '1's in the binary string.
-        num = 0;
-        for (int i = 0; i < inputTerms.length(); i++){
-            if(inputTerms.charAt(i) == '1')
-                num++;
-        }
+    // constructor to initialize a Term object directly from its literals and '-' positions.
+    Term (long value, long mask, int length){
+        this.mask = mask;
+        this.value = value & ~mask;
+        this.length = length;
+
+        // counting the number of '1's in the term.
+        num = Long.bitCount(this.value);
     }
 
     // Constructor to initialize a Term object based on two other Term objects.
     public Term (Term term1, Term term2){
-        // Scanning both terms and replacing non-matching characters with '-'.
-        StringBuffer temp = new StringBuffer();
-        for (int i = 0; i < term1.getString().length(); i++){
-            if (term1.getString().charAt(i) != term2.getString().charAt(i))
-                temp.append("-");
+        // the differing position becomes a '-', the remaining literals are kept as they are.
+        this.mask = term1.mask | (term1.value ^ term2.value);
+        this.value = term1.value & ~this.mask;
+        this.length = term1.length;
+
+        // Counting the number of '1's in the combined term.
+        num = Long.bitCount(this.value);
+    }
+
+    // Builds the '0'/'1'/'-' form of the term, most significant position first.
+    public String getString() {
+        char[] r = new char[length];
+        for (int i = 0; i < length; i++) {
+            long bit = 1L << (length - 1 - i);
+            if ((mask & bit) != 0)
+                r[i] = '-';
+            else if ((value & bit) != 0)
+                r[i] = '1';
             else
-                temp.append(term1.getString().charAt(i));
-        }
-        // Setting the inputTerms to the constructed string.
-        this.inputTerms = temp.toString();
-
-        // Counting the number of '1's in the constructed string.
-        num = 0;
-        for (int i = 0; i < inputTerms.length(); i++){
-            if (this.inputTerms.charAt(i) == '1')
-                num++;
+                r[i] = '0';
         }
+        return new String(r);
+    }
 
-        // Initializing the nums ArrayList by combining the lists from term1 and term2.
-        nums = new ArrayList<Integer>();
-        for (int i = 0; i < term1.getNums().size(); i++){
-            nums.add(term1.getNums().get(i));
-        }
-        for (int i = 0; i < term2.getNums().size(); i++){
-            nums.add(term2.getNums().get(i));
-        }
+    // Getter method to retrieve the literal bits of the term.
+    public long getValue(){
+        return value;
     }
 
-    // Getter method to retrieve the inputTerms string.
-    String getString() {
-        return inputTerms;
+    // Getter method to retrieve the positions combined into '-'.
+    public long getMask(){
+        return mask;
     }
 
-    // Getter method to retrieve the nums ArrayList.
-    ArrayList<Integer> getNums(){
-        return nums;
+    // Getter method to retrieve the number of positions in the term.
+    public int getLength(){
+        return length;
     }
 
-    // Getter method to retrieve the number of '1's in the inputTerms string.
+    // Checks whether the term covers a minterm, that is whether they agree outside the '-' positions.
+    public boolean covers(long minterm){
+        return (minterm & ~mask) == value;
+    }
+
+    // Checks whether the term covers every minterm of another term.
+    public boolean covers(Term term){
+        return (term.mask & ~mask) == 0 && covers(term.value);
+    }
+
+    // Number of minterms covered by the term, 2 to the number of '-' positions.
+    public long size(){
+        return 1L << Long.bitCount(mask);
+    }
+
+    // Iterates over the covered minterms in increasing order, derived from the term without storing them.
+    public PrimitiveIterator.OfLong minterms(){
+        return new PrimitiveIterator.OfLong() {
+            // the '-' positions taken as a number, stepped through every combination
+            private long s = 0;
+            private boolean done = false;
+
+            @Override
+            public boolean hasNext() {
+                return !done;
+            }
+
+            @Override
+            public long nextLong() {
+                if (done)
+                    throw new NoSuchElementException();
+                long minterm = value | s;
+                s = ((s | ~mask) + 1) & mask;
+                done = s == 0;
+                return minterm;
+            }
+        };
+    }
+
+    // Getter method to retrieve the number of '1's in the term.
     int getNumOnes(){
         return num;
     }
+
+    // Two terms are equal when they have the same literals and the same '-' positions.
+    @Override
+    public boolean equals(Object o){
+        if (this == o)
+            return true;
+        if (!(o instanceof Term))
+            return false;
+        Term t = (Term) o;
+        return value == t.value && mask == t.mask && length == t.length;
+    }
+
+    @Override
+    public int hashCode(){
+        return 31 * (31 * Long.hashCode(value) + Long.hashCode(mask)) + length;
+    }
+
+    @Override
+    public String toString(){
+        return getString();
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * File: TermIndex.java
+ * --------------------------
+ * This file contains the TermIndex class, an open addressing hash table of terms
+ * keyed by their literals and '-' positions.
+ *
+ * Version: 1.0
+ *
+ * Description:
+ * Lookups take the value and mask of the wanted term directly, so probing for the
+ * partner of a term during tabulation does not allocate a key object.
+ */
+
+// definition of the TermIndex class.
+class TermIndex {
+
+    /* slots of the table, null where empty */
+    private Term[] slots;
+
+    /* number of terms stored */
+    private int size;
+
+    /* constructor for an index expected to hold about the given number of terms */
+    TermIndex(int expected) {
+        int capacity = 4;
+        while (capacity < expected * 2)
+            capacity <<= 1;
+        slots = new Term[capacity];
+    }
+
+    /* adds a term, @return false if a term with the same value and mask is already present */
+    boolean add(Term term) {
+        if ((size + 1) * 2 > slots.length)
+            grow();
+
+        int i = slot(term.getValue(), term.getMask());
+        while (slots[i] != null) {
+            if (slots[i].getValue() == term.getValue() && slots[i].getMask() == term.getMask())
+                return false;
+            i = (i + 1) & (slots.length - 1);
+        }
+        slots[i] = term;
+        size++;
+        return true;
+    }
+
+    /* @return the stored term with the given value and mask, or null if there is none */
+    Term get(long value, long mask) {
+        int i = slot(value, mask);
+        while (slots[i] != null) {
+            if (slots[i].getValue() == value && slots[i].getMask() == mask)
+                return slots[i];
+            i = (i + 1) & (slots.length - 1);
+        }
+        return null;
+    }
+
+    /* @return number of terms stored */
+    int size() {
+        return size;
+    }
+
+    /* @return first slot to probe for the given value and mask */
+    private int slot(long value, long mask) {
+        long h = value * 0x9E3779B97F4A7C15L + mask * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 29;
+        return (int) h & (slots.length - 1);
+    }
+
+    /* doubles the table and reinserts every term */
+    private void grow() {
+        Term[] old = slots;
+        slots = new Term[old.length * 2];
+        size = 0;
+        for (int i = 0; i < old.length; i++) {
+            if (old[i] != null)
+                add(old[i]);
+        }
+    }
+}
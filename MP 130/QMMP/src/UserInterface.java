@@ -20,7 +20,12 @@ import java.awt.event.ActionEvent;
 
 import java.awt.event.MouseEvent;
 
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
 import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
 
 
 public class UserInterface extends javax.swing.JFrame {
@@ -63,6 +68,8 @@ public class UserInterface extends javax.swing.JFrame {
         label = new javax.swing.JLabel();
         aboutSeparator = new javax.swing.JSeparator();
         about = new javax.swing.JLabel();
+        cancelButton = new javax.swing.JButton();
+        progressBar = new javax.swing.JProgressBar();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
         setTitle("Quine-McCluskey Method Simulation");
@@ -178,6 +185,26 @@ public class UserInterface extends javax.swing.JFrame {
         getContentPane().add(solveButton);
         solveButton.setBounds(370, 170, 140, 40);
 
+        cancelButton.setFont(new java.awt.Font("Malgun Gothic", 1, 14)); // NOI18N
+        cancelButton.setText("Cancel");
+        cancelButton.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
+        cancelButton.setEnabled(false);
+        cancelButton.setName("cancelButton"); // NOI18N
+        cancelButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                cancelButtonActionPerformed(evt);
+            }
+        });
+        getContentPane().add(cancelButton);
+        cancelButton.setBounds(520, 175, 100, 30);
+
+        progressBar.setFont(new java.awt.Font("Gotham", 2, 10)); // NOI18N
+        progressBar.setName("progressBar"); // NOI18N
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        getContentPane().add(progressBar);
+        progressBar.setBounds(230, 415, 420, 18);
+
         clearButton.setFont(new java.awt.Font("Malgun Gothic", 1, 14)); // NOI18N
         clearButton.setText("Clear");
         clearButton.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
@@ -213,40 +240,170 @@ public class UserInterface extends javax.swing.JFrame {
     private void solveButtonMouseClicked(MouseEvent evt) {//GEN-FIRST:event_solveButtonMouseClicked
 
         String minterms = mintermsTxt.getText();
-        boolean mintermsValid = false;
         spaceCommaSeparated.setForeground(new Color(0, 0, 0));
-        spaceCommaSeparated.setText("space or comma delimited*");
+        spaceCommaSeparated.setText("space or comma delimited, a-b for ranges*");
 
         defaultVars.setForeground(new Color(0, 0, 0));
         if (customVars.isSelected()){
-            defaultVars.setText("enter 10 variables, space and comma separated*");
+            defaultVars.setText("enter one variable per input, space and comma separated*");
         } else {
             defaultVars.setText("default variables used*");
         }
 
-        if (!isValidMinterms(minterms)){
-            spaceCommaSeparated.setForeground(new Color(0, 0, 0));
-            spaceCommaSeparated.setText("input exceeds maximum value 1024*");
-        } else {
-            mintermsValid = true;
-        }
-
         String variables = varTxt.getText();
-        if (!minterms.isBlank()){
-            QuineMcCluskeyMethod s = new QuineMcCluskeyMethod(minterms);
-            s.solve();
-            if (mintermsValid && minterms.matches("[\\d,\\s]+"))
-                txaSolution.setText(s.printResults(convertVariables(variables)));
+        if (!minterms.isBlank() && worker == null){
+            QuineMcCluskeyMethod s;
+            try {
+                s = new QuineMcCluskeyMethod(minterms);
+            } catch (MintermFormatException e) {
+                // point at the offending character
+                spaceCommaSeparated.setText("invalid input at position " + (e.getOffset() + 1) + "*");
+                mintermsTxt.requestFocusInWindow();
+                mintermsTxt.setCaretPosition(Math.min(e.getOffset(), minterms.length()));
+                JOptionPane.showMessageDialog(null, e.getMessage() + ". Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            } catch (IllegalArgumentException e) {
+                JOptionPane.showMessageDialog(null, e.getMessage() + " Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            // solve away from the event dispatch thread so the window stays responsive
+            txaSolution.setText("");
+            worker = new SolveWorker(s, variables);
+            solveButton.setEnabled(false);
+            cancelButton.setEnabled(true);
+            worker.execute();
         }
     }//GEN-LAST:event_solveButtonMouseClicked
 
+    private void cancelButtonActionPerformed(ActionEvent evt) {
+        // interrupts the solving thread, the engine stops at its next check
+        if (worker != null)
+            worker.cancel(true);
+    }
+
+    /* background worker solving one function, publishing tabulation columns and progress as it goes */
+    private class SolveWorker extends SwingWorker<QuineMcCluskeyMethod, String> implements ProgressListener {
+
+        /* whether the result was taken from the cache */
+        private boolean cached;
+
+        /* most terms of one column shown while solving, the rest only counted */
+        private static final int SHOWN_TERMS = 200;
+
+        private final QuineMcCluskeyMethod solver;
+        private final String variables;
+
+        SolveWorker(QuineMcCluskeyMethod solver, String variables) {
+            this.solver = solver;
+            this.variables = variables;
+            solver.setProgressListener(this);
+
+            // progress and phase changes are delivered on the event dispatch thread, late ones from a cancelled or replaced worker are ignored
+            addPropertyChangeListener(evt -> {
+                if (isCancelled() || worker != this)
+                    return;
+                if ("progress".equals(evt.getPropertyName()))
+                    progressBar.setValue((Integer) evt.getNewValue());
+                else if ("phase".equals(evt.getPropertyName()))
+                    progressBar.setString(phaseName((ProgressListener.Phase) evt.getNewValue()));
+            });
+        }
+
+        @Override
+        protected QuineMcCluskeyMethod doInBackground() {
+            cached = solver.solve(cache);
+            return solver;
+        }
+
+        @Override
+        public void phaseStarted(ProgressListener.Phase phase) {
+            firePropertyChange("phase", null, phase);
+            setProgress(0);
+        }
+
+        @Override
+        public void progress(ProgressListener.Phase phase, int done, int total) {
+            if (total > 0)
+                setProgress(Math.min(100, (int) (100L * done / total)));
+        }
+
+        @Override
+        public void columnTabulated(int column, List<Term>[] groups) {
+            // build the text here so the event dispatch thread only appends it
+            StringBuilder r = new StringBuilder("Column ").append(column + 1).append(":\n");
+            int shown = 0;
+            int total = 0;
+            for (int i = 0; i < groups.length; i++) {
+                for (int j = 0; j < groups[i].size(); j++) {
+                    if (shown < SHOWN_TERMS) {
+                        r.append(groups[i].get(j).getString()).append(' ');
+                        shown++;
+                    }
+                    total++;
+                }
+            }
+            if (total > shown)
+                r.append("... (").append(total - shown).append(" more)");
+            publish(r.append("\n\n").toString());
+        }
+
+        @Override
+        protected void process(List<String> columns) {
+            // a cancelled worker may still have published columns before the engine noticed
+            if (isCancelled() || worker != this)
+                return;
+            for (int i = 0; i < columns.size(); i++)
+                txaSolution.append(columns.get(i));
+        }
+
+        @Override
+        protected void done() {
+            worker = null;
+            solveButton.setEnabled(true);
+            cancelButton.setEnabled(false);
+            try {
+                QuineMcCluskeyMethod s = get();
+                progressBar.setValue(100);
+                progressBar.setString(cached ? "Done (cached)" : "Done");
+                txaSolution.setText(s.printResults(convertVariables(variables, s.getVariableCount())));
+                txaSolution.setCaretPosition(0);
+            } catch (CancellationException e) {
+                progressBar.setValue(0);
+                progressBar.setString("Cancelled");
+            } catch (InterruptedException | ExecutionException e) {
+                progressBar.setString("Failed");
+                JOptionPane.showMessageDialog(null, "Solving failed: " + e.getCause(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    /* @return text shown in the progress bar for a phase */
+    private static String phaseName(ProgressListener.Phase phase) {
+        switch (phase) {
+            case TABULATION: return "Tabulating columns...";
+            case CONSENSUS:
+            case BDD: return "Generating prime implicants...";
+            case CHART_REDUCTION: return "Reducing prime implicant chart...";
+            case PETRICK: return "Applying Petrick's method...";
+            case BRANCH_AND_BOUND: return "Searching for a minimum cover...";
+            default: return "Minimizing...";
+        }
+    }
+
     private void clearButtonMouseClicked(MouseEvent evt) {//GEN-FIRST:event_clearButtonMouseClicked
 
+        // stop any solving still running, its result would no longer match the input
+        if (worker != null)
+            worker.cancel(true);
+
         mintermsTxt.setText("");
         varTxt.setText("A, B, C, D, E, F, G, H, I, J");
         customVars.setSelected(false);
         varTxt.setEnabled(false);
         txaSolution.setText("");
+        progressBar.setValue(0);
+        progressBar.setString("");
 
         defaultVars.setForeground(new Color(0, 0, 0));
         defaultVars.setText("Default variables used*");
@@ -258,7 +415,7 @@ public class UserInterface extends javax.swing.JFrame {
     private void customVarsActionPerformed(ActionEvent evt) {//GEN-FIRST:event_customVarsActionPerformed
 
         if (customVars.isSelected()){
-            defaultVars.setText("Enter 10 variables. Space and comma delimited");
+            defaultVars.setText("Enter one variable per input. Space and comma delimited");
             varTxt.setEnabled(true);
             varTxt.setText("");
         }
@@ -314,55 +471,35 @@ public class UserInterface extends javax.swing.JFrame {
     }
 
 
-    public String[] convertVariables(String s){
+    public String[] convertVariables(String s, int count){
         s = s.replace(",", " "); //for comma-delimited inputs
-        String[] variables = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"};
+        String[] variables = new String[count];
+        for (int i = 0; i < count; i++)
+            variables[i] = QuineMcCluskeyMethod.VARIABLES[i];
         if (s.trim().equals("")) {
             // if empty
             return variables;
         }
         String[] a = s.trim().split(" +");
-        String[] t = new String[a.length];
-        // array of minterms
-        if (t.length < 10)
+        if (a.length < count)
             defaultVars.setText("Note: Variables missing! Using default for the rest.");
-        for (int i = 0; i < t.length; i++) {
-            try {
-                if (a[i].length() > 1)
-                    variables[i] = "(" + a[i] + ")";
-                else
-                    variables[i] = a[i];
-            } catch (Exception e) {
-                defaultVars.setForeground(new Color(0, 0, 0));
-                defaultVars.setText("Input exceeds 10 variables! Using only the first 10 vars.");
-
-            }
+        else if (a.length > count) {
+            defaultVars.setForeground(new Color(0, 0, 0));
+            defaultVars.setText("Input exceeds " + count + " variables! Using only the first " + count + " vars.");
         }
-        return variables;
-    }
-
-
-    public boolean isValidMinterms(String s){
-        s = s.replace(",", " ");
-        String[] temp = s.trim().split(" +");
-        int[] intMinterms = new int[temp.length];
-        for (int i = 0; i < temp.length; i++){
-            try {intMinterms[i] = Integer.parseInt(temp[i]);
-            } catch (Exception e){
-                JOptionPane.showMessageDialog(null, "Invalid input. Please try again!!", "Error Message", JOptionPane.ERROR_MESSAGE);
-                mintermsTxt.setText("");
-            }
-        }
-        for (int i = 0; i < intMinterms.length; i++){
-            if (intMinterms[i] > 1023)
-                return false;
+        for (int i = 0; i < a.length && i < count; i++) {
+            if (a[i].length() > 1)
+                variables[i] = "(" + a[i] + ")";
+            else
+                variables[i] = a[i];
         }
-        return true;
+        return variables;
     }
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JLabel about;
     private javax.swing.JSeparator aboutSeparator;
+    private javax.swing.JButton cancelButton;
     private javax.swing.JButton clearButton;
     private javax.swing.JCheckBox customVars;
     private javax.swing.JLabel defaultVars;
@@ -370,6 +507,7 @@ public class UserInterface extends javax.swing.JFrame {
     private javax.swing.JLabel label;
     private javax.swing.JLabel minterms;
     private javax.swing.JTextField mintermsTxt;
+    private javax.swing.JProgressBar progressBar;
     private javax.swing.JLabel qmTitle;
     private javax.swing.JLabel results;
     private javax.swing.JSeparator separator;
@@ -379,4 +517,10 @@ public class UserInterface extends javax.swing.JFrame {
     private javax.swing.JTextField varTxt;
     private javax.swing.JLabel vars;
     // End of variables declaration//GEN-END:variables
+
+    /* worker solving in the background, null while idle */
+    private SolveWorker worker;
+
+    /* results of recently solved functions, so solving one again is immediate */
+    private final ResultCache cache = new ResultCache(64);
 }